@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of a whole suite run, stored as benchmarks/baselines/&lt;project version&gt;.json when recorded.
+ */
+public class BenchmarkBaseline {
+
+  private String projectVersion;
+  private String recordedAt;
+  private String javaVersion;
+  private int availableProcessors;
+  private Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+
+  public BenchmarkBaseline() {
+  }
+
+  public String getProjectVersion() {
+    return projectVersion;
+  }
+
+  public void setProjectVersion(String projectVersion) {
+    this.projectVersion = projectVersion;
+  }
+
+  public String getRecordedAt() {
+    return recordedAt;
+  }
+
+  public void setRecordedAt(String recordedAt) {
+    this.recordedAt = recordedAt;
+  }
+
+  public String getJavaVersion() {
+    return javaVersion;
+  }
+
+  public void setJavaVersion(String javaVersion) {
+    this.javaVersion = javaVersion;
+  }
+
+  /**
+   * @return CPUs of the machine that ran the suite, baselines are only comparable on similar machines
+   */
+  public int getAvailableProcessors() {
+    return availableProcessors;
+  }
+
+  public void setAvailableProcessors(int availableProcessors) {
+    this.availableProcessors = availableProcessors;
+  }
+
+  /**
+   * @return results by benchmark name
+   */
+  public Map<String, BenchmarkResult> getResults() {
+    return results;
+  }
+
+  public void setResults(Map<String, BenchmarkResult> results) {
+    this.results = results;
+  }
+
+  @Override
+  public String toString() {
+    return "BenchmarkBaseline{" +
+            "projectVersion='" + projectVersion + '\'' +
+            ", recordedAt='" + recordedAt + '\'' +
+            ", javaVersion='" + javaVersion + '\'' +
+            ", availableProcessors=" + availableProcessors +
+            ", results=" + results +
+            '}';
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.benchmarks;
+
+/**
+ * Result of one benchmark of the suite. Throughput is higher-is-better, latencies lower-is-better.
+ */
+public class BenchmarkResult {
+
+  private String unit;
+  private double throughputPerSecond;
+  private int samples;
+  private Double p50Millis;
+  private Double p99Millis;
+
+  public BenchmarkResult() {
+  }
+
+  public BenchmarkResult(String unit, double throughputPerSecond) {
+    this(unit, throughputPerSecond, 0, null, null);
+  }
+
+  public BenchmarkResult(String unit, double throughputPerSecond, int samples, Double p50Millis, Double p99Millis) {
+    this.unit = unit;
+    this.throughputPerSecond = throughputPerSecond;
+    this.samples = samples;
+    this.p50Millis = p50Millis;
+    this.p99Millis = p99Millis;
+  }
+
+  /**
+   * @return what the throughput counts, like starts or replays
+   */
+  public String getUnit() {
+    return unit;
+  }
+
+  public void setUnit(String unit) {
+    this.unit = unit;
+  }
+
+  public double getThroughputPerSecond() {
+    return throughputPerSecond;
+  }
+
+  public void setThroughputPerSecond(double throughputPerSecond) {
+    this.throughputPerSecond = throughputPerSecond;
+  }
+
+  /**
+   * @return latencies the percentiles were computed from, 0 when the benchmark only measures throughput
+   */
+  public int getSamples() {
+    return samples;
+  }
+
+  public void setSamples(int samples) {
+    this.samples = samples;
+  }
+
+  /**
+   * @return median latency, null when the benchmark only measures throughput
+   */
+  public Double getP50Millis() {
+    return p50Millis;
+  }
+
+  public void setP50Millis(Double p50Millis) {
+    this.p50Millis = p50Millis;
+  }
+
+  /**
+   * @return 99th percentile latency, null when the benchmark only measures throughput
+   */
+  public Double getP99Millis() {
+    return p99Millis;
+  }
+
+  public void setP99Millis(Double p99Millis) {
+    this.p99Millis = p99Millis;
+  }
+
+  @Override
+  public String toString() {
+    return "BenchmarkResult{" +
+            "unit='" + unit + '\'' +
+            ", throughputPerSecond=" + throughputPerSecond +
+            ", samples=" + samples +
+            ", p50Millis=" + p50Millis +
+            ", p99Millis=" + p99Millis +
+            '}';
+  }
+}
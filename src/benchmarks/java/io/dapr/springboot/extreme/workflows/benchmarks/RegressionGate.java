@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a suite run with a baseline. Benchmarks missing from either side are not compared.
+ *
+ * <p>The p50 is always compared. The p99 only when the run has at least {@code minP99Samples} latencies: with fewer,
+ * like the 10 parents of fan-out-100, it is the slowest sample and mostly measures noise.</p>
+ */
+public class RegressionGate {
+
+  private final double maxThroughputRegression;
+
+  private final double maxP50Regression;
+
+  private final double maxP99Regression;
+
+  private final int minP99Samples;
+
+  /**
+   * @param maxThroughputRegression tolerated throughput drop, 0.2 fails below 80% of the baseline
+   * @param maxP50Regression        tolerated p50 increase, 0.3 fails above 130% of the baseline
+   * @param maxP99Regression        tolerated p99 increase, 0.3 fails above 130% of the baseline
+   * @param minP99Samples           latencies a run needs for its p99 to be compared
+   */
+  public RegressionGate(double maxThroughputRegression, double maxP50Regression, double maxP99Regression,
+                        int minP99Samples) {
+    this.maxThroughputRegression = maxThroughputRegression;
+    this.maxP50Regression = maxP50Regression;
+    this.maxP99Regression = maxP99Regression;
+    this.minP99Samples = minP99Samples;
+  }
+
+  /**
+   * @return one message per regressed metric, empty if the run is within the thresholds
+   */
+  public List<String> regressions(BenchmarkBaseline baseline, BenchmarkBaseline current) {
+    List<String> regressions = new ArrayList<>();
+    for (Map.Entry<String, BenchmarkResult> entry : current.getResults().entrySet()) {
+      BenchmarkResult expected = baseline.getResults().get(entry.getKey());
+      BenchmarkResult actual = entry.getValue();
+      if (expected == null) {
+        continue;
+      }
+      double minThroughput = expected.getThroughputPerSecond() * (1 - maxThroughputRegression);
+      if (actual.getThroughputPerSecond() < minThroughput) {
+        regressions.add(String.format("%s: %.1f %s/s, baseline %.1f, minimum %.1f", entry.getKey(),
+                actual.getThroughputPerSecond(), actual.getUnit(), expected.getThroughputPerSecond(), minThroughput));
+      }
+      latency(regressions, entry.getKey(), "p50", expected.getP50Millis(), actual.getP50Millis(), maxP50Regression);
+      if (actual.getSamples() >= minP99Samples) {
+        latency(regressions, entry.getKey(), "p99", expected.getP99Millis(), actual.getP99Millis(), maxP99Regression);
+      }
+    }
+    return regressions;
+  }
+
+  private static void latency(List<String> regressions, String name, String percentile, Double expected,
+                              Double actual, double maxRegression) {
+    if (expected == null || actual == null) {
+      return;
+    }
+    double max = expected * (1 + maxRegression);
+    if (actual > max) {
+      regressions.add(String.format("%s: %s %.2f ms, baseline %.2f, maximum %.2f", name, percentile, actual,
+              expected, max));
+    }
+  }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.dapr.springboot.extreme.workflows.ScenarioWorkflow;
+import io.dapr.springboot.extreme.workflows.WorkflowsApplication;
+import io.dapr.springboot.extreme.workflows.jmh.RecordedHistory;
+import io.dapr.springboot.extreme.workflows.jmh.ReplayWorkflowContext;
+import io.dapr.springboot.extreme.workflows.jmh.FakeContextReplayBenchmark;
+import io.dapr.springboot.extreme.workflows.model.BatchEventResult;
+import io.dapr.springboot.extreme.workflows.model.BatchStartRequest;
+import io.dapr.springboot.extreme.workflows.model.BatchStartResult;
+import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.WorkflowCompletion;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
+import io.dapr.springboot.extreme.workflows.service.RetryLogService;
+import io.dapr.springboot.extreme.workflows.service.WorkflowMetrics;
+import io.dapr.workflows.WorkflowStub;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/*
+ * Fixed benchmark suite, run by mvn -Pbenchmarks verify against the in-process backend with the wall clock.
+ * Results go to target/benchmarks, and are compared with the committed benchmarks/baselines/<version>.json:
+ * the test, and so the verify phase, fails when throughput or latency regressed past the thresholds, and when
+ * the baseline is missing. -Dbenchmarks.updateBaseline=true stores the run as the baseline instead.
+ */
+@SpringBootTest(classes = WorkflowsApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("inmemory")
+@TestPropertySource(properties = { "workflows.inmemory.clock=system", "workflows.inmemory.port=50199" })
+class WorkflowBenchmarkIT {
+
+  private static final int STARTS = 1000;
+
+  private static final int FAN_OUTS = 10;
+
+  private static final int FAN_OUT_CHILDREN = 100;
+
+  private static final int REPLAY_RETRIES = 1000;
+
+  private static final int REPLAYS = 500;
+
+  private static final int MAX_IN_FLIGHT = 64;
+
+  private final ObjectMapper mapper = new ObjectMapper()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+          .enable(SerializationFeature.INDENT_OUTPUT);
+
+  @LocalServerPort
+  private int port;
+
+  @BeforeEach
+  void setUp() {
+    RestAssured.baseURI = "http://localhost:" + port;
+  }
+
+  @Test
+  void benchmarkSuite() throws Exception {
+    // Warm up the JIT, the client channels and the thread pools, results are discarded
+    startAndComplete(STARTS / 5);
+    replay(REPLAYS / 5);
+
+    BenchmarkBaseline current = new BenchmarkBaseline();
+    current.setProjectVersion(System.getProperty("benchmarks.project-version", "dev"));
+    current.setRecordedAt(Instant.now().toString());
+    current.setJavaVersion(System.getProperty("java.version"));
+    current.setAvailableProcessors(Runtime.getRuntime().availableProcessors());
+
+    BenchmarkResult[] startAndEvents = startAndComplete(STARTS);
+    current.getResults().put("start-rate", startAndEvents[0]);
+    current.getResults().put("event-latency", startAndEvents[1]);
+    current.getResults().put("fan-out-100", fanOut());
+    current.getResults().put("fake-context-replay-1000", replay(REPLAYS));
+
+    Path output = Path.of(System.getProperty("benchmarks.output-dir", "target/benchmarks"));
+    Files.createDirectories(output);
+    mapper.writeValue(output.resolve(current.getProjectVersion() + ".json").toFile(), current);
+    current.getResults().forEach((name, result) -> System.out.printf("%-20s %s%n", name, result));
+
+    File baselineFile = Path.of(System.getProperty("benchmarks.baseline-dir", "benchmarks/baselines"))
+            .resolve(System.getProperty("benchmarks.baseline", current.getProjectVersion()) + ".json")
+            .toFile();
+    if (Boolean.getBoolean("benchmarks.updateBaseline")) {
+      Files.createDirectories(baselineFile.toPath().getParent());
+      mapper.writeValue(baselineFile, current);
+      System.out.println("Recorded baseline " + baselineFile);
+      return;
+    }
+    if (!baselineFile.exists()) {
+      fail("No baseline " + baselineFile + ": record one on the machine that runs the gate with "
+              + "-Dbenchmarks.updateBaseline=true and commit it");
+    }
+    RegressionGate gate = new RegressionGate(
+            Double.parseDouble(System.getProperty("benchmarks.max-throughput-regression", "0.2")),
+            Double.parseDouble(System.getProperty("benchmarks.max-p50-regression", "0.3")),
+            Double.parseDouble(System.getProperty("benchmarks.max-p99-regression", "0.3")),
+            Integer.getInteger("benchmarks.min-p99-samples", 100));
+    List<String> regressions = gate.regressions(mapper.readValue(baselineFile, BenchmarkBaseline.class), current);
+    assertTrue(regressions.isEmpty(), "Regressed against " + baselineFile + ":\n" + String.join("\n", regressions));
+  }
+
+  /**
+   * Starts v9 workflows with /start/batch, then sends their CONTINUE-EVENT with /complete and waits until they
+   * finished, so the next benchmark starts with an idle backend.
+   *
+   * @return start throughput, and event throughput with p50 and p99
+   */
+  private BenchmarkResult[] startAndComplete(int count) {
+    BatchStartRequest batchStartRequest = new BatchStartRequest();
+    batchStartRequest.setCount(count);
+    batchStartRequest.setScenario("v9");
+    batchStartRequest.setMaxInFlight(MAX_IN_FLIGHT);
+    batchStartRequest.setPaymentRequest(paymentRequest(3));
+    BatchStartResult started = given().contentType(ContentType.JSON)
+            .body(batchStartRequest)
+            .when()
+            .post("/start/batch")
+            .then()
+            .statusCode(200)
+            .extract().as(BatchStartResult.class);
+    assertEquals(0, started.getFailed(), "Failed starts: " + started.getErrors());
+
+    BatchEventResult events = given().contentType(ContentType.JSON)
+            .queryParam("concurrency", MAX_IN_FLIGHT)
+            .body(started.getInstanceIds())
+            .when()
+            .post("/complete")
+            .then()
+            .statusCode(200)
+            .extract().as(BatchEventResult.class);
+    assertEquals(0, events.getFailed(), "Failed events: " + events.getErrors());
+    awaitCompleted(started.getInstanceIds());
+
+    return new BenchmarkResult[] {
+        new BenchmarkResult("starts", started.getStartsPerSecond()),
+        new BenchmarkResult("events", events.getEventsPerSecond(), events.getSent(), events.getP50Millis(),
+                events.getP99Millis())
+    };
+  }
+
+  /**
+   * Runs FAN_OUTS fan-out-windowed workflows with FAN_OUT_CHILDREN child workflows each, at the same time.
+   *
+   * @return child workflows per second, and p50 and p99 of the parent end-to-end latency. With FAN_OUTS samples the
+   * p99 is the slowest parent, the gate only compares the p50.
+   */
+  private BenchmarkResult fanOut() {
+    long start = System.nanoTime();
+    BatchStartRequest batchStartRequest = new BatchStartRequest();
+    batchStartRequest.setCount(FAN_OUTS);
+    batchStartRequest.setScenario("fan-out-windowed");
+    batchStartRequest.setPaymentRequest(paymentRequest(FAN_OUT_CHILDREN));
+    BatchStartResult started = given().contentType(ContentType.JSON)
+            .body(batchStartRequest)
+            .when()
+            .post("/start/batch")
+            .then()
+            .statusCode(200)
+            .extract().as(BatchStartResult.class);
+    assertEquals(0, started.getFailed(), "Failed starts: " + started.getErrors());
+    // The CONTINUE-EVENT is buffered until the children completed and the parent waits for it
+    given().contentType(ContentType.JSON)
+            .body(started.getInstanceIds())
+            .when()
+            .post("/complete")
+            .then()
+            .statusCode(200);
+    List<WorkflowCompletion> completions = awaitCompleted(started.getInstanceIds());
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    long[] endToEndMillis = completions.stream().mapToLong(WorkflowCompletion::getEndToEndMillis).toArray();
+    return new BenchmarkResult("child workflows", FAN_OUTS * FAN_OUT_CHILDREN / elapsedSeconds, FAN_OUTS,
+            percentile(endToEndMillis, 0.5), percentile(endToEndMillis, 0.99));
+  }
+
+  /**
+   * Replays the recorded history of a v8 instance that timed out REPLAY_RETRIES times against the fake context of
+   * {@link FakeContextReplayBenchmark}: the workflow function alone, without the durabletask executor.
+   *
+   * @return replays per second, and p50 and p99 of one replay
+   */
+  private BenchmarkResult replay(int replays) throws IOException {
+    MeterRegistry registry = new SimpleMeterRegistry();
+    WorkflowStub workflow = new ScenarioWorkflow(new RetryLogService(registry, Duration.ofHours(1)), new WorkflowMetrics(registry),
+            event -> {
+            }).create();
+    WorkflowScenario workflowScenario = FakeContextReplayBenchmark.scenarios().getScenario("v8");
+    workflowScenario.setRetryIterations(REPLAY_RETRIES + 1);
+    PaymentRequest paymentRequest = paymentRequest(3);
+    paymentRequest.setScenario(workflowScenario);
+    RecordedHistory history = ReplayWorkflowContext.record(workflow, paymentRequest, REPLAY_RETRIES, mapper);
+
+    long[] nanos = new long[replays];
+    for (int i = 0; i < replays; i++) {
+      long start = System.nanoTime();
+      try {
+        workflow.run(ReplayWorkflowContext.replaying(history, mapper));
+      } catch (ReplayWorkflowContext.Blocked blocked) {
+        // Replay reached the end of the history
+      }
+      nanos[i] = System.nanoTime() - start;
+    }
+    double totalSeconds = Arrays.stream(nanos).sum() / 1e9;
+    return new BenchmarkResult("replays", replays / totalSeconds, replays, percentile(nanos, 0.5) / 1e6,
+            percentile(nanos, 0.99) / 1e6);
+  }
+
+  private List<WorkflowCompletion> awaitCompleted(List<String> instanceIds) {
+    List<WorkflowCompletion> completions = new ArrayList<>(instanceIds.size());
+    for (String instanceId : instanceIds) {
+      WorkflowCompletion completion = given()
+              .queryParam("timeout", TimeUnit.MINUTES.toSeconds(2))
+              .when()
+              .get("/await/" + instanceId)
+              .then()
+              .statusCode(200)
+              .extract().as(WorkflowCompletion.class);
+      assertTrue(completion.isFinished(), instanceId + " did not finish");
+      assertEquals("COMPLETED", completion.getRuntimeStatus(), instanceId);
+      completions.add(completion);
+    }
+    return completions;
+  }
+
+  private static PaymentRequest paymentRequest(int items) {
+    PaymentRequest paymentRequest = new PaymentRequest("benchmark", "salaboy", 10);
+    List<PaymentItem> paymentItems = new ArrayList<>(items);
+    for (int i = 0; i < items; i++) {
+      paymentItems.add(new PaymentItem("item-" + i));
+    }
+    paymentRequest.setPaymentItems(paymentItems);
+    return paymentRequest;
+  }
+
+  private static double percentile(long[] values, double quantile) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+  }
+}
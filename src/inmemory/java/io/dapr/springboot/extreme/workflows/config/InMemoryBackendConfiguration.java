@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.config;
+
+import io.dapr.springboot.extreme.workflows.inmemory.InMemoryStateStore;
+import io.dapr.springboot.extreme.workflows.inmemory.InMemoryTaskHub;
+import io.dapr.springboot.extreme.workflows.inmemory.VirtualClock;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Replaces the Dapr sidecar with the in-process backend when workflows.backend=in-memory, see the inmemory
+ * profile. The backend listens on workflows.inmemory.port, where the Dapr client properties must point.
+ */
+@Configuration
+@ConditionalOnProperty(name = "workflows.backend", havingValue = "in-memory")
+public class InMemoryBackendConfiguration {
+
+  @Bean
+  public VirtualClock virtualClock(@Value("${workflows.inmemory.clock:virtual}") String clock) {
+    return new VirtualClock("virtual".equalsIgnoreCase(clock));
+  }
+
+  @Bean(destroyMethod = "close")
+  public InMemoryTaskHub inMemoryTaskHub(VirtualClock virtualClock,
+                                         @Value("${workflows.inmemory.max-outstanding-work-items:512}")
+                                         int maxOutstanding,
+                                         @Value("${workflows.inmemory.idle-delay:PT0.05S}") Duration idleDelay,
+                                         MeterRegistry registry) {
+    InMemoryTaskHub taskHub = new InMemoryTaskHub(virtualClock, maxOutstanding, idleDelay);
+    Gauge.builder("inmemory.instances", taskHub, InMemoryTaskHub::getInstanceCount)
+            .description("Workflow instances held by the in-memory backend")
+            .register(registry);
+    Gauge.builder("inmemory.work-items", taskHub, InMemoryTaskHub::getPendingWorkItems)
+            .description("Work items queued or being processed by the workers")
+            .register(registry);
+    Gauge.builder("inmemory.timers", taskHub, InMemoryTaskHub::getPendingTimers)
+            .description("Durable timers waiting to fire")
+            .register(registry);
+    return taskHub;
+  }
+
+  @Bean(initMethod = "start", destroyMethod = "shutdownNow")
+  public Server inMemoryBackendServer(@Value("${workflows.inmemory.port:50099}") int port,
+                                      InMemoryTaskHub inMemoryTaskHub) {
+    return Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+            .addService(inMemoryTaskHub)
+            .addService(new InMemoryStateStore())
+            .build();
+  }
+}
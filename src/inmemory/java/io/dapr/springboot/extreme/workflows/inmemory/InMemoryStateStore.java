@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.inmemory;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Empty;
+import io.dapr.v1.CommonProtos;
+import io.dapr.v1.DaprGrpc;
+import io.dapr.v1.DaprProtos;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State API of the sidecar, backed by a map, so DaprClient state calls (the payment to instance mappings)
+ * work against the in-memory backend. Etags are returned but not enforced. Every other Dapr API answers
+ * UNIMPLEMENTED.
+ */
+public class InMemoryStateStore extends DaprGrpc.DaprImplBase {
+
+  private final Map<String, StoredValue> values = new ConcurrentHashMap<>();
+
+  private final AtomicLong versions = new AtomicLong();
+
+  @Override
+  public void saveState(DaprProtos.SaveStateRequest request, StreamObserver<Empty> responseObserver) {
+    for (CommonProtos.StateItem item : request.getStatesList()) {
+      values.put(key(request.getStoreName(), item.getKey()),
+              new StoredValue(item.getValue(), Long.toString(versions.incrementAndGet())));
+    }
+    responseObserver.onNext(Empty.getDefaultInstance());
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void getState(DaprProtos.GetStateRequest request,
+                       StreamObserver<DaprProtos.GetStateResponse> responseObserver) {
+    StoredValue value = values.get(key(request.getStoreName(), request.getKey()));
+    DaprProtos.GetStateResponse.Builder response = DaprProtos.GetStateResponse.newBuilder();
+    if (value != null) {
+      response.setData(value.data).setEtag(value.etag);
+    }
+    responseObserver.onNext(response.build());
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void getBulkState(DaprProtos.GetBulkStateRequest request,
+                           StreamObserver<DaprProtos.GetBulkStateResponse> responseObserver) {
+    DaprProtos.GetBulkStateResponse.Builder response = DaprProtos.GetBulkStateResponse.newBuilder();
+    for (String key : request.getKeysList()) {
+      StoredValue value = values.get(key(request.getStoreName(), key));
+      DaprProtos.BulkStateItem.Builder item = DaprProtos.BulkStateItem.newBuilder().setKey(key);
+      if (value != null) {
+        item.setData(value.data).setEtag(value.etag);
+      }
+      response.addItems(item);
+    }
+    responseObserver.onNext(response.build());
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void deleteState(DaprProtos.DeleteStateRequest request, StreamObserver<Empty> responseObserver) {
+    values.remove(key(request.getStoreName(), request.getKey()));
+    responseObserver.onNext(Empty.getDefaultInstance());
+    responseObserver.onCompleted();
+  }
+
+  private static String key(String storeName, String key) {
+    return storeName + "||" + key;
+  }
+
+  private static final class StoredValue {
+
+    private final ByteString data;
+    private final String etag;
+
+    private StoredValue(ByteString data, String etag) {
+      this.data = data;
+      this.etag = etag;
+    }
+  }
+}
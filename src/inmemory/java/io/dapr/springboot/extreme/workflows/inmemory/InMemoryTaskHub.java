@@ -0,0 +1,985 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.inmemory;
+
+import com.google.protobuf.Empty;
+import com.google.protobuf.StringValue;
+import com.google.protobuf.Timestamp;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.ActivityRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.ActivityResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CompleteOrchestrationAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CompleteTaskResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CreateInstanceRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CreateInstanceResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CreateSubOrchestrationAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.EventRaisedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.EventSentEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.ExecutionStartedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.ExecutionTerminatedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.GetInstanceRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.GetInstanceResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.GetWorkItemsRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.HistoryEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestrationInstance;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestrationState;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestrationStatus;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestratorAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestratorRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestratorResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestratorStartedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.ParentInstanceInfo;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.PurgeInstancesRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.PurgeInstancesResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.RaiseEventRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.RaiseEventResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.ScheduleTaskAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.SendEventAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.SubOrchestrationInstanceCompletedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.SubOrchestrationInstanceCreatedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.SubOrchestrationInstanceFailedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TaskCompletedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TaskFailedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TaskFailureDetails;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TaskScheduledEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TerminateOrchestrationAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TerminateRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TerminateResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TimerCreatedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.TimerFiredEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.WorkItem;
+import io.dapr.durabletask.implementation.protobuf.TaskHubSidecarServiceGrpc;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process stand-in for the workflow engine of the Dapr sidecar. It serves the durabletask sidecar gRPC
+ * service, so the unchanged DaprWorkflowClient and workflow runtime connect to it as they would to daprd,
+ * and the real Workflow and WorkflowActivity beans run with the usual replay semantics: every orchestrator
+ * work item carries the full history of the execution as past events plus the new events.
+ *
+ * <p>State lives in memory and is guarded by a single lock. gRPC stream observers are never called while
+ * holding it: work items and replies are queued in an outbox under the lock and sent once it is released, so a
+ * slow or blocked stream can't stall the backend. Work items are streamed to the connected workers
+ * round-robin, with at most maxOutstanding of them unacknowledged at any time, and only one orchestrator work
+ * item per instance. Events raised for an instance whose ExecutionStarted event wasn't delivered yet, for
+ * example before its scheduled start time, are buffered and sent after it. Durable timers, including the timeouts of waitForExternalEvent, fire
+ * from a timer thread on the {@link VirtualClock}: with a virtual clock, time jumps to the next timer once no
+ * work item has been queued or completed for idleDelay.</p>
+ *
+ * <p>Supported: starting (also with a scheduled start time), raising events, terminating (recursively),
+ * purging and waiting for instances, activities, child workflows, timers, sendEvent and continueAsNew with
+ * carried-over events. Suspend, resume, rewind, queries and entities answer UNIMPLEMENTED.</p>
+ */
+public class InMemoryTaskHub extends TaskHubSidecarServiceGrpc.TaskHubSidecarServiceImplBase {
+
+  private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskHub.class);
+
+  private static final Set<OrchestrationStatus> TERMINAL_STATUSES = EnumSet.of(
+          OrchestrationStatus.ORCHESTRATION_STATUS_COMPLETED,
+          OrchestrationStatus.ORCHESTRATION_STATUS_FAILED,
+          OrchestrationStatus.ORCHESTRATION_STATUS_TERMINATED,
+          OrchestrationStatus.ORCHESTRATION_STATUS_CANCELED);
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition changed = lock.newCondition();
+
+  private final Map<String, Instance> instances = new HashMap<>();
+
+  private final Deque<PendingWorkItem> queue = new ArrayDeque<>();
+
+  private final Map<String, PendingWorkItem> outstanding = new HashMap<>();
+
+  private final List<Worker> workers = new ArrayList<>();
+
+  /**
+   * Stream observer calls queued under the lock, run by {@link #flushOutbox()} once it is released.
+   */
+  private final Queue<Runnable> outbox = new ConcurrentLinkedQueue<>();
+
+  private final PriorityQueue<ScheduledTimer> timers = new PriorityQueue<>(
+          Comparator.comparing((ScheduledTimer timer) -> timer.fireAt).thenComparingLong(timer -> timer.sequence));
+
+  private final VirtualClock clock;
+
+  private final int maxOutstanding;
+
+  private final long idleDelayNanos;
+
+  private final Thread timerThread;
+
+  private long timerSequence;
+
+  private long lastActivityNanos = System.nanoTime();
+
+  private int nextWorker;
+
+  private volatile boolean running = true;
+
+  public InMemoryTaskHub(VirtualClock clock, int maxOutstanding, Duration idleDelay) {
+    this.clock = clock;
+    this.maxOutstanding = Math.max(1, maxOutstanding);
+    this.idleDelayNanos = idleDelay.toNanos();
+    this.timerThread = new Thread(this::runTimers, "inmemory-timers");
+    this.timerThread.setDaemon(true);
+    this.timerThread.start();
+  }
+
+  public void close() {
+    running = false;
+    timerThread.interrupt();
+    List<Worker> connected;
+    lock.lock();
+    try {
+      connected = new ArrayList<>(workers);
+      workers.clear();
+    } finally {
+      lock.unlock();
+    }
+    for (Worker worker : connected) {
+      try {
+        synchronized (worker) {
+          worker.observer.onCompleted();
+        }
+      } catch (RuntimeException e) {
+        // The worker is gone already
+      }
+    }
+  }
+
+  /**
+   * @return instances kept in memory, finished ones included until they are purged
+   */
+  public int getInstanceCount() {
+    lock.lock();
+    try {
+      return instances.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return work items queued or sent to a worker and not completed yet
+   */
+  public int getPendingWorkItems() {
+    lock.lock();
+    try {
+      return queue.size() + outstanding.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getPendingTimers() {
+    lock.lock();
+    try {
+      return timers.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void hello(Empty request, StreamObserver<Empty> responseObserver) {
+    reply(responseObserver, Empty.getDefaultInstance());
+  }
+
+  @Override
+  public void startInstance(CreateInstanceRequest request, StreamObserver<CreateInstanceResponse> responseObserver) {
+    String instanceId = request.getInstanceId().isEmpty() ? UUID.randomUUID().toString() : request.getInstanceId();
+    boolean exists;
+    lock.lock();
+    try {
+      Instance existing = instances.get(instanceId);
+      exists = existing != null && !isTerminal(existing);
+      if (!exists) {
+        Instant startAt = request.hasScheduledStartTimestamp()
+                ? toInstant(request.getScheduledStartTimestamp()) : null;
+        create(instanceId, request.getName(), request.hasInput() ? request.getInput() : null, null, startAt);
+      }
+    } finally {
+      lock.unlock();
+    }
+    flushOutbox();
+    if (exists) {
+      responseObserver.onError(Status.ALREADY_EXISTS
+              .withDescription("an active workflow with ID '" + instanceId + "' already exists")
+              .asRuntimeException());
+      return;
+    }
+    reply(responseObserver, CreateInstanceResponse.newBuilder().setInstanceId(instanceId).build());
+  }
+
+  @Override
+  public void getInstance(GetInstanceRequest request, StreamObserver<GetInstanceResponse> responseObserver) {
+    GetInstanceResponse response;
+    lock.lock();
+    try {
+      response = response(instances.get(request.getInstanceId()), request.getGetInputsAndOutputs());
+    } finally {
+      lock.unlock();
+    }
+    reply(responseObserver, response);
+  }
+
+  @Override
+  public void waitForInstanceStart(GetInstanceRequest request, StreamObserver<GetInstanceResponse> responseObserver) {
+    await(request, responseObserver,
+            instance -> instance.status != OrchestrationStatus.ORCHESTRATION_STATUS_PENDING);
+  }
+
+  @Override
+  public void waitForInstanceCompletion(GetInstanceRequest request,
+                                        StreamObserver<GetInstanceResponse> responseObserver) {
+    await(request, responseObserver, InMemoryTaskHub::isTerminal);
+  }
+
+  @Override
+  public void raiseEvent(RaiseEventRequest request, StreamObserver<RaiseEventResponse> responseObserver) {
+    boolean found;
+    lock.lock();
+    try {
+      Instance instance = instances.get(request.getInstanceId());
+      found = instance != null;
+      if (found) {
+        EventRaisedEvent.Builder raised = EventRaisedEvent.newBuilder().setName(request.getName());
+        if (request.hasInput()) {
+          raised.setInput(request.getInput());
+        }
+        deliver(instance, event(-1).setEventRaised(raised).build());
+      }
+    } finally {
+      lock.unlock();
+    }
+    flushOutbox();
+    if (!found) {
+      responseObserver.onError(notFound(request.getInstanceId()));
+      return;
+    }
+    reply(responseObserver, RaiseEventResponse.getDefaultInstance());
+  }
+
+  @Override
+  public void terminateInstance(TerminateRequest request, StreamObserver<TerminateResponse> responseObserver) {
+    boolean found;
+    lock.lock();
+    try {
+      Instance instance = instances.get(request.getInstanceId());
+      found = instance != null;
+      if (found) {
+        terminate(instance, request.hasOutput() ? request.getOutput() : null, request.getRecursive());
+      }
+    } finally {
+      lock.unlock();
+    }
+    flushOutbox();
+    if (!found) {
+      responseObserver.onError(notFound(request.getInstanceId()));
+      return;
+    }
+    reply(responseObserver, TerminateResponse.getDefaultInstance());
+  }
+
+  @Override
+  public void purgeInstances(PurgeInstancesRequest request, StreamObserver<PurgeInstancesResponse> responseObserver) {
+    if (request.getRequestCase() != PurgeInstancesRequest.RequestCase.INSTANCEID) {
+      responseObserver.onError(Status.UNIMPLEMENTED
+              .withDescription("only purging by instance id is supported").asRuntimeException());
+      return;
+    }
+    int deleted = 0;
+    boolean running;
+    lock.lock();
+    try {
+      Instance instance = instances.get(request.getInstanceId());
+      running = instance != null && !isTerminal(instance);
+      if (instance != null && !running) {
+        deleted = purge(instance, request.getRecursive());
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (running) {
+      responseObserver.onError(Status.FAILED_PRECONDITION
+              .withDescription("workflow '" + request.getInstanceId() + "' is still running").asRuntimeException());
+      return;
+    }
+    reply(responseObserver, PurgeInstancesResponse.newBuilder().setDeletedInstanceCount(deleted).build());
+  }
+
+  @Override
+  public void getWorkItems(GetWorkItemsRequest request, StreamObserver<WorkItem> responseObserver) {
+    Worker worker = new Worker((ServerCallStreamObserver<WorkItem>) responseObserver);
+    worker.observer.setOnCancelHandler(() -> disconnected(worker));
+    lock.lock();
+    try {
+      workers.add(worker);
+      logger.info("Workflow worker connected, {} connected.", workers.size());
+      pump();
+    } finally {
+      lock.unlock();
+    }
+    flushOutbox();
+  }
+
+  @Override
+  public void completeOrchestratorTask(OrchestratorResponse response,
+                                       StreamObserver<CompleteTaskResponse> responseObserver) {
+    lock.lock();
+    try {
+      PendingWorkItem workItem = outstanding.remove(orchestratorKey(response.getInstanceId()));
+      Instance instance = instances.get(response.getInstanceId());
+      if (workItem != null && instance != null && workItem.executionId.equals(instance.executionId)) {
+        instance.history.addAll(workItem.newEvents);
+        instance.dispatched = false;
+        if (response.hasCustomStatus()) {
+          instance.customStatus = response.getCustomStatus();
+        }
+        for (OrchestratorAction action : response.getActionsList()) {
+          apply(instance, action);
+        }
+        instance.lastUpdatedAt = clock.now();
+        dispatch(instance);
+      }
+      activity();
+    } finally {
+      lock.unlock();
+    }
+    flushOutbox();
+    reply(responseObserver, CompleteTaskResponse.getDefaultInstance());
+  }
+
+  @Override
+  public void completeActivityTask(ActivityResponse response, StreamObserver<CompleteTaskResponse> responseObserver) {
+    lock.lock();
+    try {
+      PendingWorkItem workItem = outstanding.remove(activityKey(response.getInstanceId(), response.getTaskId()));
+      Instance instance = instances.get(response.getInstanceId());
+      if (workItem != null && instance != null && workItem.executionId.equals(instance.executionId)) {
+        HistoryEvent event;
+        if (response.hasFailureDetails()) {
+          event = event(-1).setTaskFailed(TaskFailedEvent.newBuilder()
+                  .setTaskScheduledId(response.getTaskId())
+                  .setFailureDetails(response.getFailureDetails())).build();
+        } else {
+          TaskCompletedEvent.Builder completed = TaskCompletedEvent.newBuilder().setTaskScheduledId(response.getTaskId());
+          if (response.hasResult()) {
+            completed.setResult(response.getResult());
+          }
+          event = event(-1).setTaskCompleted(completed).build();
+        }
+        deliver(instance, event);
+      }
+      activity();
+    } finally {
+      lock.unlock();
+    }
+    flushOutbox();
+    reply(responseObserver, CompleteTaskResponse.getDefaultInstance());
+  }
+
+  private void create(String instanceId, String name, StringValue input, ParentInstanceInfo parent, Instant startAt) {
+    Instance instance = new Instance(instanceId, name, input, parent);
+    instance.createdAt = clock.now();
+    instance.lastUpdatedAt = instance.createdAt;
+    instances.put(instanceId, instance);
+    HistoryEvent started = executionStarted(instance);
+    if (startAt != null && startAt.isAfter(clock.now())) {
+      schedule(startAt, () -> {
+        if (instances.get(instanceId) == instance) {
+          deliver(instance, started);
+        }
+      });
+    } else {
+      deliver(instance, started);
+    }
+  }
+
+  private void apply(Instance instance, OrchestratorAction action) {
+    int id = action.getId();
+    switch (action.getOrchestratorActionTypeCase()) {
+      case SCHEDULETASK: {
+        ScheduleTaskAction task = action.getScheduleTask();
+        TaskScheduledEvent.Builder scheduled = TaskScheduledEvent.newBuilder().setName(task.getName());
+        ActivityRequest.Builder request = ActivityRequest.newBuilder()
+                .setName(task.getName())
+                .setTaskId(id)
+                .setOrchestrationInstance(orchestrationInstance(instance));
+        if (task.hasInput()) {
+          scheduled.setInput(task.getInput());
+          request.setInput(task.getInput());
+        }
+        instance.history.add(event(id).setTaskScheduled(scheduled).build());
+        enqueue(new PendingWorkItem(activityKey(instance.instanceId, id),
+                WorkItem.newBuilder().setActivityRequest(request).build(), instance.executionId, List.of()));
+        break;
+      }
+      case CREATESUBORCHESTRATION: {
+        CreateSubOrchestrationAction child = action.getCreateSubOrchestration();
+        String childId = child.getInstanceId().isEmpty() ? UUID.randomUUID().toString() : child.getInstanceId();
+        SubOrchestrationInstanceCreatedEvent.Builder created = SubOrchestrationInstanceCreatedEvent.newBuilder()
+                .setInstanceId(childId)
+                .setName(child.getName());
+        if (child.hasInput()) {
+          created.setInput(child.getInput());
+        }
+        instance.history.add(event(id).setSubOrchestrationInstanceCreated(created).build());
+        instance.children.add(childId);
+        ParentInstanceInfo parent = ParentInstanceInfo.newBuilder()
+                .setTaskScheduledId(id)
+                .setName(StringValue.of(instance.name))
+                .setOrchestrationInstance(orchestrationInstance(instance))
+                .build();
+        create(childId, child.getName(), child.hasInput() ? child.getInput() : null, parent, null);
+        break;
+      }
+      case CREATETIMER: {
+        Timestamp fireAt = action.getCreateTimer().getFireAt();
+        instance.history.add(event(id).setTimerCreated(TimerCreatedEvent.newBuilder().setFireAt(fireAt)).build());
+        String executionId = instance.executionId;
+        schedule(toInstant(fireAt), () -> {
+          if (instances.get(instance.instanceId) == instance && executionId.equals(instance.executionId)) {
+            deliver(instance, event(-1).setTimerFired(TimerFiredEvent.newBuilder()
+                    .setFireAt(fireAt)
+                    .setTimerId(id)).build());
+          }
+        });
+        break;
+      }
+      case SENDEVENT: {
+        SendEventAction send = action.getSendEvent();
+        String targetId = send.getInstance().getInstanceId();
+        EventSentEvent.Builder sent = EventSentEvent.newBuilder().setInstanceId(targetId).setName(send.getName());
+        EventRaisedEvent.Builder raised = EventRaisedEvent.newBuilder().setName(send.getName());
+        if (send.hasData()) {
+          sent.setInput(send.getData());
+          raised.setInput(send.getData());
+        }
+        instance.history.add(event(id).setEventSent(sent).build());
+        Instance target = instances.get(targetId);
+        if (target != null) {
+          deliver(target, event(-1).setEventRaised(raised).build());
+        }
+        break;
+      }
+      case COMPLETEORCHESTRATION:
+        complete(instance, action.getCompleteOrchestration());
+        break;
+      case TERMINATEORCHESTRATION: {
+        TerminateOrchestrationAction terminate = action.getTerminateOrchestration();
+        Instance target = instances.get(terminate.getInstanceId());
+        if (target != null) {
+          terminate(target, terminate.hasReason() ? terminate.getReason() : null, terminate.getRecurse());
+        }
+        break;
+      }
+      default:
+        logger.warn("Ignoring unsupported action {} of workflow {}.", action.getOrchestratorActionTypeCase(),
+                instance.instanceId);
+    }
+  }
+
+  private void complete(Instance instance, CompleteOrchestrationAction completion) {
+    if (completion.getOrchestrationStatus() == OrchestrationStatus.ORCHESTRATION_STATUS_CONTINUED_AS_NEW) {
+      // New execution with an empty history, events that arrived in the meantime are kept
+      instance.executionId = UUID.randomUUID().toString();
+      instance.input = completion.hasResult() ? completion.getResult() : null;
+      instance.history.clear();
+      List<HistoryEvent> arrived = instance.pending;
+      instance.pending = new ArrayList<>();
+      instance.pending.add(executionStarted(instance));
+      instance.pending.addAll(completion.getCarryoverEventsList());
+      instance.pending.addAll(arrived);
+      return;
+    }
+    finish(instance, completion.getOrchestrationStatus(), completion.hasResult() ? completion.getResult() : null,
+            completion.hasFailureDetails() ? completion.getFailureDetails() : null);
+  }
+
+  private void finish(Instance instance, OrchestrationStatus status, StringValue output, TaskFailureDetails failure) {
+    instance.status = status;
+    instance.output = output;
+    instance.failure = failure;
+    instance.pending.clear();
+    instance.lastUpdatedAt = clock.now();
+    notifyWaiters(instance);
+    if (instance.parent == null) {
+      return;
+    }
+    Instance parent = instances.get(instance.parent.getOrchestrationInstance().getInstanceId());
+    if (parent == null) {
+      return;
+    }
+    int taskId = instance.parent.getTaskScheduledId();
+    if (status == OrchestrationStatus.ORCHESTRATION_STATUS_COMPLETED) {
+      SubOrchestrationInstanceCompletedEvent.Builder completed = SubOrchestrationInstanceCompletedEvent.newBuilder()
+              .setTaskScheduledId(taskId);
+      if (output != null) {
+        completed.setResult(output);
+      }
+      deliver(parent, event(-1).setSubOrchestrationInstanceCompleted(completed).build());
+    } else {
+      TaskFailureDetails details = failure != null ? failure : TaskFailureDetails.newBuilder()
+              .setErrorType(status.name())
+              .setErrorMessage("Child workflow " + instance.instanceId + " ended with status " + status)
+              .build();
+      deliver(parent, event(-1).setSubOrchestrationInstanceFailed(SubOrchestrationInstanceFailedEvent.newBuilder()
+              .setTaskScheduledId(taskId)
+              .setFailureDetails(details)).build());
+    }
+  }
+
+  private void terminate(Instance instance, StringValue output, boolean recursive) {
+    if (isTerminal(instance)) {
+      return;
+    }
+    if (recursive) {
+      for (String childId : instance.children) {
+        Instance child = instances.get(childId);
+        if (child != null) {
+          terminate(child, output, true);
+        }
+      }
+    }
+    if (instance.history.isEmpty() && !instance.dispatched) {
+      // Never ran, for example waiting for its scheduled start time
+      finish(instance, OrchestrationStatus.ORCHESTRATION_STATUS_TERMINATED, output, null);
+      return;
+    }
+    ExecutionTerminatedEvent.Builder terminated = ExecutionTerminatedEvent.newBuilder().setRecurse(recursive);
+    if (output != null) {
+      terminated.setInput(output);
+    }
+    deliver(instance, event(-1).setExecutionTerminated(terminated).build());
+  }
+
+  private int purge(Instance instance, boolean recursive) {
+    instances.remove(instance.instanceId);
+    int deleted = 1;
+    if (recursive) {
+      for (String childId : instance.children) {
+        Instance child = instances.get(childId);
+        if (child != null && isTerminal(child)) {
+          deleted += purge(child, true);
+        }
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * Adds a new event to the instance, it is sent to a worker with the next orchestrator work item. Events
+   * arriving before the ExecutionStarted event are held back until it is delivered, then follow it.
+   */
+  private void deliver(Instance instance, HistoryEvent event) {
+    if (isTerminal(instance)) {
+      return;
+    }
+    if (event.hasExecutionStarted()) {
+      instance.started = true;
+      instance.pending.add(0, event);
+    } else {
+      instance.pending.add(event);
+    }
+    dispatch(instance);
+  }
+
+  private void dispatch(Instance instance) {
+    if (!instance.started || instance.dispatched || instance.pending.isEmpty() || isTerminal(instance)) {
+      return;
+    }
+    List<HistoryEvent> newEvents = new ArrayList<>(instance.pending.size() + 1);
+    newEvents.add(event(-1).setOrchestratorStarted(OrchestratorStartedEvent.getDefaultInstance()).build());
+    newEvents.addAll(instance.pending);
+    instance.pending = new ArrayList<>();
+    if (instance.status == OrchestrationStatus.ORCHESTRATION_STATUS_PENDING) {
+      instance.status = OrchestrationStatus.ORCHESTRATION_STATUS_RUNNING;
+      instance.lastUpdatedAt = clock.now();
+      notifyWaiters(instance);
+    }
+    instance.dispatched = true;
+    WorkItem workItem = WorkItem.newBuilder().setOrchestratorRequest(OrchestratorRequest.newBuilder()
+            .setInstanceId(instance.instanceId)
+            .setExecutionId(StringValue.of(instance.executionId))
+            .addAllPastEvents(instance.history)
+            .addAllNewEvents(newEvents)).build();
+    enqueue(new PendingWorkItem(orchestratorKey(instance.instanceId), workItem, instance.executionId, newEvents));
+  }
+
+  private void enqueue(PendingWorkItem workItem) {
+    queue.add(workItem);
+    activity();
+  }
+
+  /**
+   * Sends queued work items to the workers, up to maxOutstanding unacknowledged ones.
+   */
+  private void pump() {
+    while (!queue.isEmpty() && outstanding.size() < maxOutstanding && !workers.isEmpty()) {
+      PendingWorkItem workItem = queue.poll();
+      Worker worker = workers.get(nextWorker++ % workers.size());
+      workItem.worker = worker;
+      outstanding.put(workItem.key, workItem);
+      outbox.add(() -> send(worker, workItem.workItem));
+    }
+  }
+
+  /**
+   * Runs the stream observer calls queued under the lock. Must be called without holding it.
+   */
+  private void flushOutbox() {
+    Runnable call;
+    while ((call = outbox.poll()) != null) {
+      call.run();
+    }
+  }
+
+  private void send(Worker worker, WorkItem workItem) {
+    try {
+      // Several threads may flush the outbox, calls on one stream must not overlap
+      synchronized (worker) {
+        worker.observer.onNext(workItem);
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Workflow worker stream failed: {}", e.getMessage());
+      disconnected(worker);
+    }
+  }
+
+  private void activity() {
+    pump();
+    lastActivityNanos = System.nanoTime();
+    changed.signalAll();
+  }
+
+  private void disconnected(Worker worker) {
+    lock.lock();
+    try {
+      if (!workers.remove(worker)) {
+        return;
+      }
+      // Hand the work items of the worker to the remaining, or next, workers
+      Iterator<PendingWorkItem> iterator = outstanding.values().iterator();
+      while (iterator.hasNext()) {
+        PendingWorkItem workItem = iterator.next();
+        if (workItem.worker == worker) {
+          iterator.remove();
+          queue.addFirst(workItem);
+        }
+      }
+      logger.info("Workflow worker disconnected, {} connected.", workers.size());
+      activity();
+    } finally {
+      lock.unlock();
+    }
+    flushOutbox();
+  }
+
+  private void schedule(Instant fireAt, Runnable action) {
+    timers.add(new ScheduledTimer(fireAt, timerSequence++, action));
+    changed.signalAll();
+  }
+
+  /**
+   * Fires due timers. With a virtual clock, time only moves when the backend has been idle for idleDelay.
+   */
+  private void runTimers() {
+    lock.lock();
+    try {
+      while (running) {
+        ScheduledTimer next = timers.peek();
+        if (next == null) {
+          changed.await();
+          continue;
+        }
+        if (clock.isVirtual()) {
+          if (!queue.isEmpty() || !outstanding.isEmpty()) {
+            changed.await();
+            continue;
+          }
+          long idleRemainingNanos = lastActivityNanos + idleDelayNanos - System.nanoTime();
+          if (idleRemainingNanos > 0) {
+            changed.awaitNanos(idleRemainingNanos);
+            continue;
+          }
+          clock.advanceTo(next.fireAt);
+        } else {
+          long waitNanos = Duration.between(clock.now(), next.fireAt).toNanos();
+          if (waitNanos > 0) {
+            changed.awaitNanos(Math.min(waitNanos, TimeUnit.SECONDS.toNanos(1)));
+            continue;
+          }
+        }
+        Instant now = clock.now();
+        while ((next = timers.peek()) != null && !next.fireAt.isAfter(now)) {
+          timers.poll().action.run();
+        }
+        lock.unlock();
+        try {
+          flushOutbox();
+        } finally {
+          lock.lock();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void await(GetInstanceRequest request, StreamObserver<GetInstanceResponse> responseObserver,
+                     Predicate<Instance> condition) {
+    boolean includeIO = request.getGetInputsAndOutputs();
+    GetInstanceResponse response = null;
+    lock.lock();
+    try {
+      Instance instance = instances.get(request.getInstanceId());
+      if (instance == null || condition.test(instance)) {
+        response = response(instance, includeIO);
+      } else {
+        Waiter waiter = new Waiter(condition, responseObserver, includeIO);
+        instance.waiters.add(waiter);
+        ((ServerCallStreamObserver<GetInstanceResponse>) responseObserver).setOnCancelHandler(() -> {
+          lock.lock();
+          try {
+            instance.waiters.remove(waiter);
+          } finally {
+            lock.unlock();
+          }
+        });
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (response != null) {
+      reply(responseObserver, response);
+    }
+  }
+
+  /**
+   * Queues the replies of the waiters whose condition is met, with the state of the instance at this point.
+   */
+  private void notifyWaiters(Instance instance) {
+    Iterator<Waiter> iterator = instance.waiters.iterator();
+    while (iterator.hasNext()) {
+      Waiter waiter = iterator.next();
+      if (waiter.condition.test(instance)) {
+        iterator.remove();
+        GetInstanceResponse response = response(instance, waiter.includeIO);
+        outbox.add(() -> reply(waiter.responseObserver, response));
+      }
+    }
+  }
+
+  private GetInstanceResponse response(Instance instance, boolean includeIO) {
+    if (instance == null) {
+      return GetInstanceResponse.newBuilder().setExists(false).build();
+    }
+    OrchestrationState.Builder state = OrchestrationState.newBuilder()
+            .setInstanceId(instance.instanceId)
+            .setName(instance.name)
+            .setOrchestrationStatus(instance.status)
+            .setCreatedTimestamp(toTimestamp(instance.createdAt))
+            .setLastUpdatedTimestamp(toTimestamp(instance.lastUpdatedAt));
+    if (instance.customStatus != null) {
+      state.setCustomStatus(instance.customStatus);
+    }
+    if (instance.failure != null) {
+      state.setFailureDetails(instance.failure);
+    }
+    if (includeIO && instance.input != null) {
+      state.setInput(instance.input);
+    }
+    if (includeIO && instance.output != null) {
+      state.setOutput(instance.output);
+    }
+    return GetInstanceResponse.newBuilder().setExists(true).setOrchestrationState(state).build();
+  }
+
+  private HistoryEvent executionStarted(Instance instance) {
+    ExecutionStartedEvent.Builder started = ExecutionStartedEvent.newBuilder()
+            .setName(instance.name)
+            .setOrchestrationInstance(orchestrationInstance(instance));
+    if (instance.input != null) {
+      started.setInput(instance.input);
+    }
+    if (instance.parent != null) {
+      started.setParentInstance(instance.parent);
+    }
+    return event(-1).setExecutionStarted(started).build();
+  }
+
+  private HistoryEvent.Builder event(int eventId) {
+    return HistoryEvent.newBuilder().setEventId(eventId).setTimestamp(toTimestamp(clock.now()));
+  }
+
+  private static OrchestrationInstance orchestrationInstance(Instance instance) {
+    return OrchestrationInstance.newBuilder()
+            .setInstanceId(instance.instanceId)
+            .setExecutionId(StringValue.of(instance.executionId))
+            .build();
+  }
+
+  private static boolean isTerminal(Instance instance) {
+    return TERMINAL_STATUSES.contains(instance.status);
+  }
+
+  private static String orchestratorKey(String instanceId) {
+    return "orchestrator:" + instanceId;
+  }
+
+  private static String activityKey(String instanceId, int taskId) {
+    return "activity:" + instanceId + ":" + taskId;
+  }
+
+  private static RuntimeException notFound(String instanceId) {
+    return Status.NOT_FOUND.withDescription("no workflow with ID '" + instanceId + "'").asRuntimeException();
+  }
+
+  private static <T> void reply(StreamObserver<T> responseObserver, T response) {
+    try {
+      responseObserver.onNext(response);
+      responseObserver.onCompleted();
+    } catch (RuntimeException e) {
+      // The caller gave up, typically a deadline on waitForInstanceCompletion
+    }
+  }
+
+  private static Timestamp toTimestamp(Instant instant) {
+    return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+  }
+
+  private static Instant toInstant(Timestamp timestamp) {
+    return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+  }
+
+  private static final class Instance {
+
+    private final String instanceId;
+    private final String name;
+    private final ParentInstanceInfo parent;
+    private final List<HistoryEvent> history = new ArrayList<>();
+    private final Set<String> children = new LinkedHashSet<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+    private String executionId = UUID.randomUUID().toString();
+    private OrchestrationStatus status = OrchestrationStatus.ORCHESTRATION_STATUS_PENDING;
+    private StringValue input;
+    private StringValue output;
+    private StringValue customStatus;
+    private TaskFailureDetails failure;
+    private Instant createdAt;
+    private Instant lastUpdatedAt;
+    /**
+     * Events not sent to a worker yet.
+     */
+    private List<HistoryEvent> pending = new ArrayList<>();
+    /**
+     * Whether an orchestrator work item is being processed, there is at most one per instance.
+     */
+    private boolean dispatched;
+    /**
+     * Whether the ExecutionStarted event was delivered, no work item is sent before.
+     */
+    private boolean started;
+
+    private Instance(String instanceId, String name, StringValue input, ParentInstanceInfo parent) {
+      this.instanceId = instanceId;
+      this.name = name;
+      this.input = input;
+      this.parent = parent;
+    }
+  }
+
+  private static final class PendingWorkItem {
+
+    private final String key;
+    private final WorkItem workItem;
+    private final String executionId;
+    /**
+     * New events of an orchestrator work item, added to the history once the worker completes it.
+     */
+    private final List<HistoryEvent> newEvents;
+    private Worker worker;
+
+    private PendingWorkItem(String key, WorkItem workItem, String executionId, List<HistoryEvent> newEvents) {
+      this.key = key;
+      this.workItem = workItem;
+      this.executionId = executionId;
+      this.newEvents = newEvents;
+    }
+  }
+
+  private static final class Worker {
+
+    private final ServerCallStreamObserver<WorkItem> observer;
+
+    private Worker(ServerCallStreamObserver<WorkItem> observer) {
+      this.observer = observer;
+    }
+  }
+
+  private static final class Waiter {
+
+    private final Predicate<Instance> condition;
+    private final StreamObserver<GetInstanceResponse> responseObserver;
+    private final boolean includeIO;
+
+    private Waiter(Predicate<Instance> condition, StreamObserver<GetInstanceResponse> responseObserver,
+                   boolean includeIO) {
+      this.condition = condition;
+      this.responseObserver = responseObserver;
+      this.includeIO = includeIO;
+    }
+  }
+
+  private static final class ScheduledTimer {
+
+    private final Instant fireAt;
+    private final long sequence;
+    private final Runnable action;
+
+    private ScheduledTimer(Instant fireAt, long sequence, Runnable action) {
+      this.fireAt = fireAt;
+      this.sequence = sequence;
+      this.action = action;
+    }
+  }
+}
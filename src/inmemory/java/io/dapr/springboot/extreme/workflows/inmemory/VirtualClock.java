@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.inmemory;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Time source of the in-memory backend. In virtual mode time stands still while there is work to do and jumps
+ * to the next durable timer once the backend is idle, so timers and event timeouts cost no wall-clock time.
+ * Otherwise it is the system clock.
+ */
+public class VirtualClock {
+
+  private final boolean virtual;
+
+  private final AtomicReference<Instant> now = new AtomicReference<>(Instant.now());
+
+  public VirtualClock(boolean virtual) {
+    this.virtual = virtual;
+  }
+
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  public Instant now() {
+    return virtual ? now.get() : Instant.now();
+  }
+
+  /**
+   * Moves virtual time forward to the given instant, never backwards.
+   */
+  public void advanceTo(Instant instant) {
+    now.accumulateAndGet(instant, (current, target) -> target.isAfter(current) ? target : current);
+  }
+}
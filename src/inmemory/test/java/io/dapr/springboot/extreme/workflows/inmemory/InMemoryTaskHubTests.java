@@ -0,0 +1,319 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.dapr.springboot.extreme.workflows.inmemory;
+
+import com.google.protobuf.StringValue;
+import com.google.protobuf.Timestamp;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CompleteOrchestrationAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CompleteTaskResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CreateInstanceRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CreateInstanceResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CreateSubOrchestrationAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.CreateTimerAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.EventRaisedEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.GetInstanceRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.GetInstanceResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.GetWorkItemsRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.HistoryEvent;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestrationStatus;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestratorAction;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestratorRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.OrchestratorResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.PurgeInstancesRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.PurgeInstancesResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.RaiseEventRequest;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.RaiseEventResponse;
+import io.dapr.durabletask.implementation.protobuf.OrchestratorService.WorkItem;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the backend through its gRPC service with a fake worker that answers the work items with raw actions.
+ */
+class InMemoryTaskHubTests {
+
+  private final VirtualClock clock = new VirtualClock(true);
+
+  private final InMemoryTaskHub taskHub = new InMemoryTaskHub(clock, 16, Duration.ofMillis(10));
+
+  private final RecordingObserver<WorkItem> worker = new RecordingObserver<>();
+
+  @BeforeEach
+  void connectWorker() {
+    taskHub.getWorkItems(GetWorkItemsRequest.getDefaultInstance(), worker);
+  }
+
+  @AfterEach
+  void close() {
+    taskHub.close();
+  }
+
+  @Test
+  void timersFireOnTheVirtualClock() throws InterruptedException {
+    start("timer");
+    OrchestratorRequest first = nextOrchestratorRequest();
+    assertEquals(List.of(HistoryEvent.EventTypeCase.ORCHESTRATORSTARTED, HistoryEvent.EventTypeCase.EXECUTIONSTARTED),
+            types(first.getNewEventsList()));
+
+    Instant fireAt = clock.now().plus(Duration.ofHours(1));
+    complete("timer", OrchestratorAction.newBuilder().setId(0)
+            .setCreateTimer(CreateTimerAction.newBuilder().setFireAt(timestamp(fireAt))).build());
+
+    OrchestratorRequest fired = nextOrchestratorRequest();
+    assertEquals(HistoryEvent.EventTypeCase.TIMERFIRED, fired.getNewEvents(1).getEventTypeCase());
+    assertEquals(0, fired.getNewEvents(1).getTimerFired().getTimerId());
+    assertTrue(types(fired.getPastEventsList()).contains(HistoryEvent.EventTypeCase.TIMERCREATED));
+    assertFalse(clock.now().isBefore(fireAt), "virtual time jumped to the timer");
+
+    RecordingObserver<GetInstanceResponse> completion = new RecordingObserver<>();
+    taskHub.waitForInstanceCompletion(GetInstanceRequest.newBuilder().setInstanceId("timer").build(), completion);
+    assertTrue(completion.values.isEmpty());
+    complete("timer", completeAction(OrchestrationStatus.ORCHESTRATION_STATUS_COMPLETED, "done"));
+
+    GetInstanceResponse response = completion.next();
+    assertEquals(OrchestrationStatus.ORCHESTRATION_STATUS_COMPLETED,
+            response.getOrchestrationState().getOrchestrationStatus());
+    assertTrue(completion.completed);
+  }
+
+  @Test
+  void eventsReachRunningInstances() throws InterruptedException {
+    start("events");
+    nextOrchestratorRequest();
+    complete("events");
+
+    RecordingObserver<RaiseEventResponse> raised = new RecordingObserver<>();
+    taskHub.raiseEvent(RaiseEventRequest.newBuilder().setInstanceId("events").setName("CONTINUE-EVENT")
+            .setInput(StringValue.of("\"go\"")).build(), raised);
+    raised.next();
+
+    OrchestratorRequest request = nextOrchestratorRequest();
+    EventRaisedEvent event = request.getNewEvents(1).getEventRaised();
+    assertEquals("CONTINUE-EVENT", event.getName());
+    assertEquals("\"go\"", event.getInput().getValue());
+
+    RecordingObserver<RaiseEventResponse> unknown = new RecordingObserver<>();
+    taskHub.raiseEvent(RaiseEventRequest.newBuilder().setInstanceId("unknown").setName("CONTINUE-EVENT").build(),
+            unknown);
+    assertEquals(Status.Code.NOT_FOUND, Status.fromThrowable(unknown.error).getCode());
+  }
+
+  @Test
+  void eventsRaisedBeforeTheStartAreDeliveredAfterExecutionStarted() throws InterruptedException {
+    // Wall clock, so the scheduled start can't happen before the event is raised
+    InMemoryTaskHub systemClockTaskHub = new InMemoryTaskHub(new VirtualClock(false), 16, Duration.ofMillis(10));
+    RecordingObserver<WorkItem> systemClockWorker = new RecordingObserver<>();
+    systemClockTaskHub.getWorkItems(GetWorkItemsRequest.getDefaultInstance(), systemClockWorker);
+    try {
+      RecordingObserver<CreateInstanceResponse> created = new RecordingObserver<>();
+      systemClockTaskHub.startInstance(CreateInstanceRequest.newBuilder()
+              .setInstanceId("scheduled")
+              .setName("ScenarioWorkflow")
+              .setScheduledStartTimestamp(timestamp(Instant.now().plus(Duration.ofMillis(500)))).build(), created);
+      created.next();
+      RecordingObserver<RaiseEventResponse> raised = new RecordingObserver<>();
+      systemClockTaskHub.raiseEvent(RaiseEventRequest.newBuilder()
+              .setInstanceId("scheduled")
+              .setName("START-EVENT").build(), raised);
+      raised.next();
+      assertTrue(systemClockWorker.values.isEmpty(), "nothing sent before the start time");
+
+      OrchestratorRequest first = systemClockWorker.next().getOrchestratorRequest();
+      assertEquals(List.of(HistoryEvent.EventTypeCase.ORCHESTRATORSTARTED,
+              HistoryEvent.EventTypeCase.EXECUTIONSTARTED, HistoryEvent.EventTypeCase.EVENTRAISED),
+              types(first.getNewEventsList()));
+    } finally {
+      systemClockTaskHub.close();
+    }
+  }
+
+  @Test
+  void continueAsNewStartsAFreshHistoryWithTheCarriedOverEvents() throws InterruptedException {
+    start("continued");
+    OrchestratorRequest first = nextOrchestratorRequest();
+
+    HistoryEvent carried = HistoryEvent.newBuilder().setEventId(-1)
+            .setEventRaised(EventRaisedEvent.newBuilder().setName("CARRIED")).build();
+    complete("continued", OrchestratorAction.newBuilder().setId(0).setCompleteOrchestration(
+            CompleteOrchestrationAction.newBuilder()
+                    .setOrchestrationStatus(OrchestrationStatus.ORCHESTRATION_STATUS_CONTINUED_AS_NEW)
+                    .setResult(StringValue.of("\"next\""))
+                    .addCarryoverEvents(carried)).build());
+
+    OrchestratorRequest next = nextOrchestratorRequest();
+    assertEquals(0, next.getPastEventsCount());
+    assertNotEquals(first.getExecutionId().getValue(), next.getExecutionId().getValue());
+    assertEquals(List.of(HistoryEvent.EventTypeCase.ORCHESTRATORSTARTED, HistoryEvent.EventTypeCase.EXECUTIONSTARTED,
+            HistoryEvent.EventTypeCase.EVENTRAISED), types(next.getNewEventsList()));
+    assertEquals("\"next\"", next.getNewEvents(1).getExecutionStarted().getInput().getValue());
+    assertEquals("CARRIED", next.getNewEvents(2).getEventRaised().getName());
+    assertEquals(OrchestrationStatus.ORCHESTRATION_STATUS_RUNNING, status("continued"));
+  }
+
+  @Test
+  void purgeRemovesFinishedInstancesAndTheirChildren() throws InterruptedException {
+    start("parent");
+    nextOrchestratorRequest();
+    complete("parent", OrchestratorAction.newBuilder().setId(0).setCreateSubOrchestration(
+            CreateSubOrchestrationAction.newBuilder().setInstanceId("parent-child-0").setName("ChildWorkflow")).build());
+
+    RecordingObserver<PurgeInstancesResponse> running = new RecordingObserver<>();
+    taskHub.purgeInstances(PurgeInstancesRequest.newBuilder().setInstanceId("parent").setRecursive(true).build(),
+            running);
+    assertEquals(Status.Code.FAILED_PRECONDITION, Status.fromThrowable(running.error).getCode());
+
+    OrchestratorRequest child = nextOrchestratorRequest();
+    assertEquals("parent-child-0", child.getInstanceId());
+    complete("parent-child-0", completeAction(OrchestrationStatus.ORCHESTRATION_STATUS_COMPLETED, "1"));
+    OrchestratorRequest parent = nextOrchestratorRequest();
+    assertEquals(HistoryEvent.EventTypeCase.SUBORCHESTRATIONINSTANCECOMPLETED,
+            parent.getNewEvents(1).getEventTypeCase());
+    complete("parent", completeAction(OrchestrationStatus.ORCHESTRATION_STATUS_COMPLETED, "done"));
+    assertEquals(2, taskHub.getInstanceCount());
+
+    RecordingObserver<PurgeInstancesResponse> purged = new RecordingObserver<>();
+    taskHub.purgeInstances(PurgeInstancesRequest.newBuilder().setInstanceId("parent").setRecursive(true).build(),
+            purged);
+
+    assertEquals(2, purged.next().getDeletedInstanceCount());
+    assertEquals(0, taskHub.getInstanceCount());
+    RecordingObserver<GetInstanceResponse> gone = new RecordingObserver<>();
+    taskHub.getInstance(GetInstanceRequest.newBuilder().setInstanceId("parent").build(), gone);
+    assertFalse(gone.next().getExists());
+  }
+
+  private void start(String instanceId) throws InterruptedException {
+    RecordingObserver<CreateInstanceResponse> response = new RecordingObserver<>();
+    taskHub.startInstance(CreateInstanceRequest.newBuilder()
+            .setInstanceId(instanceId)
+            .setName("ScenarioWorkflow").build(), response);
+    assertEquals(instanceId, response.next().getInstanceId());
+  }
+
+  private void complete(String instanceId, OrchestratorAction... actions) throws InterruptedException {
+    RecordingObserver<CompleteTaskResponse> response = new RecordingObserver<>();
+    taskHub.completeOrchestratorTask(OrchestratorResponse.newBuilder()
+            .setInstanceId(instanceId)
+            .addAllActions(List.of(actions))
+            .build(), response);
+    response.next();
+  }
+
+  private OrchestrationStatus status(String instanceId) throws InterruptedException {
+    RecordingObserver<GetInstanceResponse> response = new RecordingObserver<>();
+    taskHub.getInstance(GetInstanceRequest.newBuilder().setInstanceId(instanceId).build(), response);
+    return response.next().getOrchestrationState().getOrchestrationStatus();
+  }
+
+  private OrchestratorRequest nextOrchestratorRequest() throws InterruptedException {
+    WorkItem workItem = worker.next();
+    assertTrue(workItem.hasOrchestratorRequest(), "orchestrator work item expected");
+    return workItem.getOrchestratorRequest();
+  }
+
+  private static OrchestratorAction completeAction(OrchestrationStatus status, String result) {
+    return OrchestratorAction.newBuilder().setId(0).setCompleteOrchestration(CompleteOrchestrationAction.newBuilder()
+            .setOrchestrationStatus(status)
+            .setResult(StringValue.of(result))).build();
+  }
+
+  private static List<HistoryEvent.EventTypeCase> types(List<HistoryEvent> events) {
+    return events.stream().map(HistoryEvent::getEventTypeCase).collect(Collectors.toList());
+  }
+
+  private static Timestamp timestamp(Instant instant) {
+    return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+  }
+
+  /**
+   * Stream observer standing for the gRPC transport, keeps what the backend sends.
+   */
+  private static final class RecordingObserver<T> extends ServerCallStreamObserver<T> {
+
+    private final BlockingQueue<T> values = new LinkedBlockingQueue<>();
+
+    private volatile Throwable error;
+
+    private volatile boolean completed;
+
+    private T next() throws InterruptedException {
+      T value = values.poll(5, TimeUnit.SECONDS);
+      assertNotNull(value, "nothing received within 5 seconds");
+      return value;
+    }
+
+    @Override
+    public void onNext(T value) {
+      values.add(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      error = t;
+    }
+
+    @Override
+    public void onCompleted() {
+      completed = true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public void setOnCancelHandler(Runnable onCancelHandler) {
+    }
+
+    @Override
+    public void setCompression(String compression) {
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setOnReadyHandler(Runnable onReadyHandler) {
+    }
+
+    @Override
+    public void disableAutoInboundFlowControl() {
+    }
+
+    @Override
+    public void request(int count) {
+    }
+
+    @Override
+    public void setMessageCompression(boolean enable) {
+    }
+  }
+}
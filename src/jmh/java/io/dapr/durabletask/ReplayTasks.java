@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.durabletask;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates durable tasks and task exceptions for {@code ReplayWorkflowContext}, the fake WorkflowContext of
+ * {@code FakeContextReplayBenchmark}. Their constructors are package-private in durabletask, so this class has to
+ * split the SDK package: it only exists in the jmh and benchmarks source sets, is never packaged with the
+ * application, and only works on the class path, not with the SDK on the module path or as a sealed jar.
+ */
+public final class ReplayTasks {
+
+  private ReplayTasks() {
+  }
+
+  /**
+   * @param outcome called by every await, returns the result or throws the failure of the task
+   */
+  public static <V> Task<V> of(Supplier<V> outcome) {
+    return new ReplayTask<>(outcome);
+  }
+
+  public static TaskCanceledException canceled(String taskName, int taskId) {
+    return new TaskCanceledException("Timeout of " + taskName + " expired", taskName, taskId);
+  }
+
+  public static TaskFailedException failed(String taskName, int taskId, String errorType, String errorMessage) {
+    return new TaskFailedException(taskName, taskId,
+            new FailureDetails(errorType, errorMessage, null, false));
+  }
+
+  private static final class ReplayTask<V> extends Task<V> {
+
+    private final Supplier<V> outcome;
+
+    private ReplayTask(Supplier<V> outcome) {
+      super(new CompletableFuture<>());
+      this.outcome = outcome;
+    }
+
+    @Override
+    public V await() {
+      return outcome.get();
+    }
+
+    @Override
+    public <U> Task<U> thenApply(Function<V, U> fn) {
+      return new ReplayTask<>(() -> fn.apply(await()));
+    }
+
+    @Override
+    public Task<Void> thenAccept(Consumer<V> fn) {
+      return new ReplayTask<>(() -> {
+        fn.accept(await());
+        return null;
+      });
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.jmh;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dapr.springboot.extreme.workflows.ScenarioWorkflow;
+import io.dapr.springboot.extreme.workflows.config.WorkflowScenariosProperties;
+import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
+import io.dapr.springboot.extreme.workflows.service.RetryLogService;
+import io.dapr.springboot.extreme.workflows.service.WorkflowMetrics;
+import io.dapr.springboot.extreme.workflows.service.WorkflowScenarioService;
+import io.dapr.workflows.WorkflowStub;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU time and, with -prof gc, allocations of one replay of the ScenarioWorkflow function against the fake
+ * {@link ReplayWorkflowContext}. Histories are recorded once per trial, the CONTINUE-EVENT timing out
+ * {@code retries} times, and then replayed. For v8-continue the history is the one of the last execution, at most
+ * continue-as-new-every retries long.
+ *
+ * <p>Only the workflow function and the fake context are measured: the durabletask executor of the SDK, which
+ * rebuilds the context from the protobuf history events, matches them with the scheduled tasks and serializes
+ * the actions on every wake-up, is not involved. Real replays cost more; use the numbers to compare scenarios
+ * and versions of the workflow code, not as the absolute cost of a wake-up.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FakeContextReplayBenchmark {
+
+  @Param({"v2", "v8", "v8-timer", "v8-continue"})
+  public String scenario;
+
+  @Param({"10", "100", "1000"})
+  public int retries;
+
+  private ObjectMapper mapper;
+
+  private WorkflowStub workflow;
+
+  private RecordedHistory history;
+
+  @Setup
+  public void setup() throws IOException {
+    mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    MeterRegistry registry = new SimpleMeterRegistry();
+    workflow = new ScenarioWorkflow(new RetryLogService(registry, Duration.ofHours(1)), new WorkflowMetrics(registry), event -> {
+    }).create();
+
+    WorkflowScenario workflowScenario = scenarios().getScenario(scenario);
+    // One more iteration than recorded, so the history ends with the instance waiting for the CONTINUE-EVENT
+    workflowScenario.setRetryIterations(retries + 1);
+    PaymentRequest paymentRequest = new PaymentRequest("123", "salaboy", 10);
+    paymentRequest.setPaymentItems(List.of(new PaymentItem("test"), new PaymentItem("test2"),
+            new PaymentItem("test3")));
+    paymentRequest.setScenario(workflowScenario);
+    history = ReplayWorkflowContext.record(workflow, paymentRequest, retries, mapper);
+  }
+
+  @Benchmark
+  public int replay() {
+    ReplayWorkflowContext ctx = ReplayWorkflowContext.replaying(history, mapper);
+    try {
+      workflow.run(ctx);
+    } catch (ReplayWorkflowContext.Blocked blocked) {
+      // Replay reached the end of the history
+    }
+    return ctx.getPosition();
+  }
+
+  public static WorkflowScenarioService scenarios() throws IOException {
+    PropertiesPropertySource scenarios = new PropertiesPropertySource("workflow-scenarios",
+            PropertiesLoaderUtils.loadProperties(new ClassPathResource("workflow-scenarios.properties")));
+    WorkflowScenariosProperties properties = new Binder(ConfigurationPropertySources.from(scenarios))
+            .bind("workflows", WorkflowScenariosProperties.class)
+            .get();
+    return new WorkflowScenarioService(properties);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * History of one workflow execution as seen by the workflow function: its serialized input, then the outcome of
+ * every durable task (activity, timer, external event, child workflow, anyOf) in the order they were awaited.
+ * Results are kept serialized, as in a real history, so a replay pays for deserializing them.
+ */
+public class RecordedHistory {
+
+  private final String input;
+
+  private final List<RecordedTask> tasks = new ArrayList<>();
+
+  public RecordedHistory(String input) {
+    this.input = input;
+  }
+
+  public String getInput() {
+    return input;
+  }
+
+  public List<RecordedTask> getTasks() {
+    return tasks;
+  }
+
+  public static class RecordedTask {
+
+    private final String name;
+    private final String result;
+    private final boolean canceled;
+
+    public RecordedTask(String name, String result, boolean canceled) {
+      this.name = name;
+      this.result = result;
+      this.canceled = canceled;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return JSON result, null for tasks without result
+     */
+    public String getResult() {
+      return result;
+    }
+
+    /**
+     * @return whether the task timed out, like an external event that didn't arrive
+     */
+    public boolean isCanceled() {
+      return canceled;
+    }
+  }
+}
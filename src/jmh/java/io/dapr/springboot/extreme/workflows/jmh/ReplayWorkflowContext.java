@@ -0,0 +1,269 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dapr.durabletask.ReplayTasks;
+import io.dapr.durabletask.Task;
+import io.dapr.springboot.extreme.workflows.jmh.RecordedHistory.RecordedTask;
+import io.dapr.workflows.WorkflowContext;
+import io.dapr.workflows.WorkflowStub;
+import io.dapr.workflows.WorkflowTaskOptions;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WorkflowContext that runs a workflow function without a sidecar, either recording a history or replaying one.
+ *
+ * <p>When recording, activities and child workflows return their input, timers and the START-EVENT complete,
+ * anyOf picks the oldest task, and the CONTINUE-EVENT times out a given number of times, after which the workflow
+ * is left waiting for it. When replaying, every durable task gets its recorded outcome, deserialized on await,
+ * {@link #isReplaying()} is true, and the first task past the end of the history throws {@link Blocked}, like a
+ * real replay that reaches the events the workflow is waiting for. Orchestration time advances by one second per
+ * durable task.</p>
+ *
+ * <p>It stands in for the durabletask executor of the SDK: replaying through it measures the workflow function
+ * alone, see {@link FakeContextReplayBenchmark}.</p>
+ */
+public class ReplayWorkflowContext implements WorkflowContext {
+
+  private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+  private static final Blocked BLOCKED = new Blocked();
+
+  private final ObjectMapper mapper;
+
+  private final RecordedHistory history;
+
+  private final boolean replaying;
+
+  private final int retries;
+
+  private int timeouts;
+
+  private int position;
+
+  private String continuedWith;
+
+  private ReplayWorkflowContext(ObjectMapper mapper, RecordedHistory history, boolean replaying, int retries,
+                                int timeouts) {
+    this.mapper = mapper;
+    this.history = history;
+    this.replaying = replaying;
+    this.retries = retries;
+    this.timeouts = timeouts;
+  }
+
+  public static ReplayWorkflowContext replaying(RecordedHistory history, ObjectMapper mapper) {
+    return new ReplayWorkflowContext(mapper, history, true, 0, 0);
+  }
+
+  /**
+   * Runs the workflow until it has seen the given number of CONTINUE-EVENT timeouts, following continueAsNew.
+   *
+   * @return the history of the last execution
+   */
+  public static RecordedHistory record(WorkflowStub stub, Object input, int retries, ObjectMapper mapper) {
+    String executionInput = write(mapper, input);
+    int timeouts = 0;
+    while (true) {
+      ReplayWorkflowContext ctx = new ReplayWorkflowContext(mapper, new RecordedHistory(executionInput), false,
+              retries, timeouts);
+      try {
+        stub.run(ctx);
+      } catch (Blocked blocked) {
+        return ctx.history;
+      }
+      if (ctx.continuedWith == null) {
+        return ctx.history;
+      }
+      executionInput = ctx.continuedWith;
+      timeouts = ctx.timeouts;
+    }
+  }
+
+  /**
+   * @return durable tasks handed out so far
+   */
+  public int getPosition() {
+    return position;
+  }
+
+  @Override
+  public Logger getLogger() {
+    return NOPLogger.NOP_LOGGER;
+  }
+
+  @Override
+  public String getName() {
+    return "ReplayBenchmark";
+  }
+
+  @Override
+  public String getInstanceId() {
+    return "replay-benchmark";
+  }
+
+  @Override
+  public Instant getCurrentInstant() {
+    return START.plusSeconds(position);
+  }
+
+  @Override
+  public void complete(Object output) {
+    write(mapper, output);
+  }
+
+  @Override
+  public boolean isReplaying() {
+    return replaying;
+  }
+
+  @Override
+  public <V> V getInput(Class<V> targetType) {
+    return read(history.getInput(), targetType);
+  }
+
+  @Override
+  public <V> Task<V> waitForExternalEvent(String name, Duration timeout, Class<V> dataType) {
+    if (!replaying && "CONTINUE-EVENT".equals(name)) {
+      if (timeouts == retries) {
+        position++;
+        return ReplayTasks.of(() -> {
+          throw BLOCKED;
+        });
+      }
+      timeouts++;
+      return next(name, dataType, null, true);
+    }
+    return next(name, dataType, name, false);
+  }
+
+  public Task<Void> waitForExternalEvent(String name, Duration timeout) {
+    return waitForExternalEvent(name, timeout, Void.class);
+  }
+
+  public Task<Void> waitForExternalEvent(String name) {
+    return waitForExternalEvent(name, Duration.ofDays(365), Void.class);
+  }
+
+  @Override
+  public <V> Task<V> callActivity(String name, Object input, WorkflowTaskOptions options, Class<V> returnType) {
+    return next(name, returnType, input, false);
+  }
+
+  public <V> Task<V> callActivity(String name, Object input, Class<V> returnType) {
+    return callActivity(name, input, null, returnType);
+  }
+
+  public <V> Task<V> callChildWorkflow(String name, Object input, String instanceID, WorkflowTaskOptions options,
+                                       Class<V> returnType) {
+    return next(name, returnType, input, false);
+  }
+
+  public <V> Task<V> callChildWorkflow(String name, Object input, String instanceID, Class<V> returnType) {
+    return callChildWorkflow(name, input, instanceID, null, returnType);
+  }
+
+  @Override
+  public Task<Void> createTimer(Duration duration) {
+    return next("timer", Void.class, null, false);
+  }
+
+  public Task<Void> createTimer(ZonedDateTime zonedDateTime) {
+    return next("timer", Void.class, null, false);
+  }
+
+  @Override
+  public <V> Task<List<V>> allOf(List<Task<V>> tasks) {
+    return ReplayTasks.of(() -> {
+      List<V> results = new ArrayList<>(tasks.size());
+      for (Task<V> task : tasks) {
+        results.add(task.await());
+      }
+      return results;
+    });
+  }
+
+  @Override
+  public Task<Task<?>> anyOf(List<Task<?>> tasks) {
+    Task<Integer> finished = next("anyOf", Integer.class, 0, false);
+    return ReplayTasks.of(() -> tasks.get(finished.await()));
+  }
+
+  @Override
+  public void continueAsNew(Object input, boolean preserveUnprocessedEvents) {
+    continuedWith = write(mapper, input);
+  }
+
+  public void setCustomStatus(Object status) {
+  }
+
+  /**
+   * Hands out the next durable task: its recorded outcome when replaying, the given result when recording.
+   */
+  private <V> Task<V> next(String name, Class<V> type, Object recordedResult, boolean canceled) {
+    int taskId = position++;
+    RecordedTask task;
+    if (replaying) {
+      task = taskId < history.getTasks().size() ? history.getTasks().get(taskId) : null;
+    } else {
+      task = new RecordedTask(name, recordedResult != null ? write(mapper, recordedResult) : null, canceled);
+      history.getTasks().add(task);
+    }
+    return ReplayTasks.of(() -> {
+      if (task == null) {
+        throw BLOCKED;
+      }
+      if (task.isCanceled()) {
+        throw ReplayTasks.canceled(task.getName(), taskId);
+      }
+      return task.getResult() != null && type != Void.class ? read(task.getResult(), type) : null;
+    });
+  }
+
+  private <V> V read(String json, Class<V> type) {
+    try {
+      return mapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String write(ObjectMapper mapper, Object value) {
+    try {
+      return mapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * The workflow awaits a task the history has no outcome for yet, it would now wait for new events.
+   */
+  public static final class Blocked extends RuntimeException {
+
+    private Blocked() {
+      super("Workflow is waiting for new events", null, false, false);
+    }
+  }
+}
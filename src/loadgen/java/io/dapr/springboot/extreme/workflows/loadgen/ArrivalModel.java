@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Open-loop arrival process: when each workflow start is due, independently of how long earlier ones took.
+ */
+public abstract class ArrivalModel {
+
+  /**
+   * @return offset from the start of the run at which the next request is due, in nanoseconds
+   */
+  public abstract long nextOffsetNanos();
+
+  /**
+   * Parses constant:&lt;rate&gt;, poisson:&lt;rate&gt;, ramp:&lt;from&gt;-&lt;to&gt; or step:&lt;rate&gt;,&lt;rate&gt;,...
+   * where rates are requests per second. A ramp goes linearly from one rate to the other over the run, steps
+   * split the run in equal parts.
+   */
+  public static ArrivalModel parse(String spec, Duration duration, long seed) {
+    String[] parts = spec.split(":", 2);
+    if (parts.length != 2) {
+      throw new IllegalArgumentException("Arrival model must look like constant:100, poisson:100, ramp:10-500"
+              + " or step:100,200,400, got " + spec);
+    }
+    switch (parts[0]) {
+      case "constant":
+        return constant(Double.parseDouble(parts[1]));
+      case "poisson":
+        return poisson(Double.parseDouble(parts[1]), new Random(seed));
+      case "ramp": {
+        String[] rates = parts[1].split("-");
+        return ramp(Double.parseDouble(rates[0]), Double.parseDouble(rates[1]), duration);
+      }
+      case "step": {
+        String[] values = parts[1].split(",");
+        double[] rates = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+          rates[i] = Double.parseDouble(values[i]);
+        }
+        return steps(rates, duration.dividedBy(rates.length));
+      }
+      default:
+        throw new IllegalArgumentException("Unknown arrival model " + parts[0]);
+    }
+  }
+
+  public static ArrivalModel constant(double perSecond) {
+    return new VariableRate(elapsedNanos -> perSecond);
+  }
+
+  /**
+   * Exponentially distributed gaps, as independent clients would produce.
+   */
+  public static ArrivalModel poisson(double perSecond, Random random) {
+    return new ArrivalModel() {
+      private double offsetNanos;
+
+      @Override
+      public long nextOffsetNanos() {
+        offsetNanos += -Math.log(1 - random.nextDouble()) / perSecond * 1_000_000_000d;
+        return (long) offsetNanos;
+      }
+    };
+  }
+
+  public static ArrivalModel ramp(double fromPerSecond, double toPerSecond, Duration duration) {
+    double durationNanos = duration.toNanos();
+    return new VariableRate(elapsedNanos ->
+            fromPerSecond + (toPerSecond - fromPerSecond) * Math.min(1, elapsedNanos / durationNanos));
+  }
+
+  public static ArrivalModel steps(double[] perSecond, Duration stepDuration) {
+    long stepNanos = stepDuration.toNanos();
+    return new VariableRate(elapsedNanos ->
+            perSecond[(int) Math.min(perSecond.length - 1, (long) elapsedNanos / stepNanos)]);
+  }
+
+  /**
+   * Evenly spaced arrivals at the rate in effect when the previous one was due.
+   */
+  private static final class VariableRate extends ArrivalModel {
+
+    private final RateFunction rate;
+
+    private double offsetNanos = -1;
+
+    private VariableRate(RateFunction rate) {
+      this.rate = rate;
+    }
+
+    @Override
+    public long nextOffsetNanos() {
+      if (offsetNanos < 0) {
+        offsetNanos = 0;
+      } else {
+        offsetNanos += 1_000_000_000d / Math.max(rate.perSecond(offsetNanos), 0.001);
+      }
+      return (long) offsetNanos;
+    }
+  }
+
+  private interface RateFunction {
+    double perSecond(double elapsedNanos);
+  }
+}
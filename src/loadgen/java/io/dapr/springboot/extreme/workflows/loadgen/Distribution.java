@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import java.util.Random;
+
+/**
+ * Random value of a load scenario, like a number of payment items or an event delay in milliseconds.
+ * Types: constant (value), uniform (min, max), normal (mean, stddev), exponential (mean) and
+ * lognormal (mean and stddev of the underlying normal distribution). Samples are never negative.
+ */
+public class Distribution {
+
+  private String type = "constant";
+  private double value;
+  private double min;
+  private double max;
+  private double mean;
+  private double stddev;
+
+  public Distribution() {
+  }
+
+  public double sample(Random random) {
+    double sample;
+    switch (type) {
+      case "constant":
+        sample = value;
+        break;
+      case "uniform":
+        sample = min + (max - min) * random.nextDouble();
+        break;
+      case "normal":
+        sample = mean + stddev * random.nextGaussian();
+        break;
+      case "exponential":
+        sample = -Math.log(1 - random.nextDouble()) * mean;
+        break;
+      case "lognormal":
+        sample = Math.exp(mean + stddev * random.nextGaussian());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown distribution type " + type
+                + ", use constant, uniform, normal, exponential or lognormal");
+    }
+    return Math.max(0, sample);
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public double getValue() {
+    return value;
+  }
+
+  public void setValue(double value) {
+    this.value = value;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public void setMin(double min) {
+    this.min = min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public void setMax(double max) {
+    this.max = max;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public void setMean(double mean) {
+    this.mean = mean;
+  }
+
+  public double getStddev() {
+    return stddev;
+  }
+
+  public void setStddev(double stddev) {
+    this.stddev = stddev;
+  }
+
+  @Override
+  public String toString() {
+    return "Distribution{" +
+            "type='" + type + '\'' +
+            ", value=" + value +
+            ", min=" + min +
+            ", max=" + max +
+            ", mean=" + mean +
+            ", stddev=" + stddev +
+            '}';
+  }
+}
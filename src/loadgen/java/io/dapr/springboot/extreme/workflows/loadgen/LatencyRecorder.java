@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies per label and operation. Every request is measured twice: from the time it was due according to the
+ * arrival model, which includes the time it waited behind slow requests and corrects for coordinated omission,
+ * and from the time it was actually sent (service time).
+ */
+public class LatencyRecorder {
+
+  private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+  public void success(String label, String operation, long dueNanos, long sentNanos, long doneNanos) {
+    OperationStats operationStats = stats(label, operation);
+    operationStats.latency.recordValue(Math.max(0, doneNanos - dueNanos));
+    operationStats.serviceTime.recordValue(Math.max(0, doneNanos - sentNanos));
+  }
+
+  public void failure(String label, String operation, String error) {
+    stats(label, operation).errors.computeIfAbsent(error, e -> new LongAdder()).increment();
+  }
+
+  /**
+   * @param elapsedNanos duration of the run, for throughputs
+   */
+  public List<LoadReport.OperationReport> report(long elapsedNanos) {
+    List<LoadReport.OperationReport> reports = new ArrayList<>();
+    new TreeMap<>(stats).forEach((key, operationStats) -> {
+      LoadReport.OperationReport report = new LoadReport.OperationReport();
+      report.setLabel(operationStats.label);
+      report.setOperation(operationStats.operation);
+      report.setCount(operationStats.latency.getTotalCount());
+      operationStats.errors.forEach((error, count) -> report.getErrors().put(error, count.sum()));
+      report.setThroughputPerSecond(elapsedNanos == 0 ? 0 : report.getCount() * 1_000_000_000d / elapsedNanos);
+      report.setLatencyMillis(percentiles(operationStats.latency));
+      report.setServiceTimeMillis(percentiles(operationStats.serviceTime));
+      reports.add(report);
+    });
+    return reports;
+  }
+
+  private OperationStats stats(String label, String operation) {
+    return stats.computeIfAbsent(label + "/" + operation, key -> new OperationStats(label, operation));
+  }
+
+  private static LoadReport.Percentiles percentiles(Histogram histogram) {
+    LoadReport.Percentiles percentiles = new LoadReport.Percentiles();
+    if (histogram.getTotalCount() == 0) {
+      return percentiles;
+    }
+    percentiles.setMean(histogram.getMean() / TimeUnit.MILLISECONDS.toNanos(1));
+    percentiles.setP50(millis(histogram.getValueAtPercentile(50)));
+    percentiles.setP90(millis(histogram.getValueAtPercentile(90)));
+    percentiles.setP99(millis(histogram.getValueAtPercentile(99)));
+    percentiles.setP999(millis(histogram.getValueAtPercentile(99.9)));
+    percentiles.setMax(millis(histogram.getMaxValue()));
+    return percentiles;
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000d;
+  }
+
+  private static final class OperationStats {
+
+    private final String label;
+    private final String operation;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private OperationStats(String label, String operation) {
+      this.label = label;
+      this.operation = operation;
+    }
+  }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.WorkflowCompletion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the workflow endpoints, replacing siege.
+ *
+ * <p>Workflows are started with /start when the arrival model says so, whether or not earlier requests completed,
+ * then /event-start and /event-continue are sent after the delays of the {@link WorkflowPlan}, and /await reports
+ * when the workflow finished. Every operation is measured from the time it was due, so queueing in the
+ * application shows up in the latencies instead of slowing down the load (coordinated omission).</p>
+ *
+ * <pre>
+ * mvn -Ploadgen test-compile exec:exec -Dloadgen.args="--arrival poisson:200 --duration PT60S --scenario v9 \
+ *     --continue-event-delay PT1S"
+ * </pre>
+ *
+ * Options: --url (http://localhost:8080), --arrival (constant:50, see {@link ArrivalModel#parse}), --duration
+ * (PT60S), --scenario, --items (3), --start-event-delay, --continue-event-delay (no event if unset),
+ * --await-timeout seconds (120), --max-outstanding workflows (10000), --seed (42) and --out
+ * (target/loadgen-result.json). --file runs a mix of workflows described in a file instead, see
+ * {@link LoadScenarioRunner}.
+ */
+public class LoadGenerator implements AutoCloseable {
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+
+  private final ScheduledExecutorService eventScheduler = Executors.newScheduledThreadPool(2);
+
+  private final ObjectMapper mapper = new ObjectMapper()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+          .enable(SerializationFeature.INDENT_OUTPUT);
+
+  private final URI baseUrl;
+
+  private final long awaitTimeoutSeconds;
+
+  private final int maxOutstanding;
+
+  /**
+   * @param awaitTimeoutSeconds how long to wait for a workflow to finish, must cover the event delays
+   * @param maxOutstanding      workflows in progress above which arrivals are skipped, protects the generator
+   */
+  public LoadGenerator(URI baseUrl, long awaitTimeoutSeconds, int maxOutstanding) {
+    this.baseUrl = baseUrl;
+    this.awaitTimeoutSeconds = awaitTimeoutSeconds;
+    this.maxOutstanding = maxOutstanding;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = options(args);
+    if (options.containsKey("file")) {
+      LoadScenarioRunner.run(options);
+      return;
+    }
+    Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+    String arrival = options.getOrDefault("arrival", "constant:50");
+    String scenario = options.get("scenario");
+    int items = Integer.parseInt(options.getOrDefault("items", "3"));
+    Duration startEventDelay = duration(options.get("start-event-delay"));
+    Duration continueEventDelay = duration(options.get("continue-event-delay"));
+    String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    WorkflowPlan.Planner planner = sequence -> new WorkflowPlan(scenario != null ? scenario : "default", scenario,
+            paymentRequest("loadgen-" + runId + "-" + sequence, items), startEventDelay, continueEventDelay);
+    try (LoadGenerator generator = new LoadGenerator(URI.create(options.getOrDefault("url", "http://localhost:8080")),
+            Long.parseLong(options.getOrDefault("await-timeout", "120")),
+            Integer.parseInt(options.getOrDefault("max-outstanding", "10000")))) {
+      LoadReport report = generator.run(arrival,
+              ArrivalModel.parse(arrival, duration, Long.parseLong(options.getOrDefault("seed", "42"))),
+              duration, planner);
+      generator.write(report, Path.of(options.getOrDefault("out", "target/loadgen-result.json")));
+    }
+  }
+
+  /**
+   * Sends arrivals until the duration elapsed, then waits for the workflows in progress.
+   */
+  public LoadReport run(String arrivalSpec, ArrivalModel arrivals, Duration duration, WorkflowPlan.Planner planner)
+          throws InterruptedException {
+    LatencyRecorder recorder = new LatencyRecorder();
+    Semaphore outstanding = new Semaphore(maxOutstanding);
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    long count = 0;
+    long skipped = 0;
+    Map<String, Long> arrivalsByLabel = new TreeMap<>();
+    long due;
+    while ((due = start + arrivals.nextOffsetNanos()) < end) {
+      long waitNanos;
+      while ((waitNanos = due - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(waitNanos);
+      }
+      WorkflowPlan plan = planner.next(count++);
+      arrivalsByLabel.merge(plan.getLabel(), 1L, Long::sum);
+      if (!outstanding.tryAcquire()) {
+        skipped++;
+        recorder.failure(plan.getLabel(), "start", "skipped");
+        continue;
+      }
+      runWorkflow(plan, due, recorder).whenComplete((result, error) -> outstanding.release());
+    }
+    if (!outstanding.tryAcquire(maxOutstanding, awaitTimeoutSeconds + 60, TimeUnit.SECONDS)) {
+      System.err.println("Some workflows were still in progress at the end of the run.");
+    }
+    long elapsedNanos = System.nanoTime() - start;
+
+    LoadReport report = new LoadReport();
+    report.setArrival(arrivalSpec);
+    report.setDurationMillis(duration.toMillis());
+    report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    report.setArrivals(count);
+    report.setSkipped(skipped);
+    report.setArrivalsByLabel(arrivalsByLabel);
+    report.setOperations(recorder.report(elapsedNanos));
+    return report;
+  }
+
+  /**
+   * Writes the report as JSON and prints a summary.
+   */
+  public void write(LoadReport report, Path path) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    mapper.writeValue(path.toFile(), report);
+    System.out.printf("%d arrivals (%s), %d skipped, results in %s%n", report.getArrivals(), report.getArrival(),
+            report.getSkipped(), path);
+    if (report.getArrivalsByLabel().size() > 1) {
+      System.out.printf("arrivals by label: %s%n", report.getArrivalsByLabel());
+    }
+    System.out.printf("%-20s %-15s %9s %9s %10s %10s %10s %10s%n",
+            "label", "operation", "count", "errors", "per sec", "p50 ms", "p99 ms", "max ms");
+    for (LoadReport.OperationReport operation : report.getOperations()) {
+      System.out.printf("%-20s %-15s %9d %9d %10.1f %10.2f %10.2f %10.2f%n", operation.getLabel(),
+              operation.getOperation(), operation.getCount(),
+              operation.getErrors().values().stream().mapToLong(Long::longValue).sum(),
+              operation.getThroughputPerSecond(), operation.getLatencyMillis().getP50(),
+              operation.getLatencyMillis().getP99(), operation.getLatencyMillis().getMax());
+    }
+  }
+
+  @Override
+  public void close() {
+    eventScheduler.shutdownNow();
+  }
+
+  public static PaymentRequest paymentRequest(String id, int items) {
+    PaymentRequest paymentRequest = new PaymentRequest(id, "loadgen", 10);
+    List<PaymentItem> paymentItems = new ArrayList<>(items);
+    for (int i = 0; i < items; i++) {
+      paymentItems.add(new PaymentItem("item-" + i));
+    }
+    paymentRequest.setPaymentItems(paymentItems);
+    return paymentRequest;
+  }
+
+  private CompletableFuture<Void> runWorkflow(WorkflowPlan plan, long dueNanos, LatencyRecorder recorder) {
+    String label = plan.getLabel();
+    String query = plan.getScenario() != null ? "?scenario=" + encode(plan.getScenario()) : "";
+    long sentNanos = System.nanoTime();
+    return send(post("/start" + query, write(plan.getPaymentRequest())))
+            .thenCompose(response -> {
+              long doneNanos = System.nanoTime();
+              if (response.statusCode() != 200) {
+                recorder.failure(label, "start", "HTTP " + response.statusCode());
+                return CompletableFuture.<Void>completedFuture(null);
+              }
+              recorder.success(label, "start", dueNanos, sentNanos, doneNanos);
+              String instanceId = read(response.body(), PaymentRequest.class).getWorkflowInstanceId();
+              List<CompletableFuture<Void>> steps = new ArrayList<>();
+              if (plan.getStartEventDelay() != null) {
+                steps.add(event(label, "event-start", instanceId, doneNanos + plan.getStartEventDelay().toNanos(),
+                        recorder));
+              }
+              if (plan.getContinueEventDelay() != null) {
+                steps.add(event(label, "event-continue", instanceId,
+                        doneNanos + plan.getContinueEventDelay().toNanos(), recorder));
+              }
+              steps.add(awaitCompletion(label, instanceId, dueNanos, sentNanos, recorder));
+              return CompletableFuture.allOf(steps.toArray(new CompletableFuture[0]));
+            })
+            .exceptionally(error -> {
+              recorder.failure(label, "start", errorName(error));
+              return null;
+            });
+  }
+
+  private CompletableFuture<Void> event(String label, String operation, String instanceId, long dueNanos,
+                                        LatencyRecorder recorder) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    eventScheduler.schedule(() -> {
+      long sentNanos = System.nanoTime();
+      send(post("/" + operation + "?instanceId=" + encode(instanceId), "loadgen"))
+              .whenComplete((response, error) -> {
+                if (error != null) {
+                  recorder.failure(label, operation, errorName(error));
+                } else if (response.statusCode() != 200) {
+                  recorder.failure(label, operation, "HTTP " + response.statusCode());
+                } else {
+                  recorder.success(label, operation, dueNanos, sentNanos, System.nanoTime());
+                }
+                result.complete(null);
+              });
+    }, Math.max(0, dueNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  /**
+   * Records the completion of the workflow, from the time its start was due to the time /await returned.
+   */
+  private CompletableFuture<Void> awaitCompletion(String label, String instanceId, long dueNanos, long sentNanos,
+                                                  LatencyRecorder recorder) {
+    HttpRequest request = HttpRequest.newBuilder(
+                    baseUrl.resolve("/await/" + encode(instanceId) + "?timeout=" + awaitTimeoutSeconds))
+            .timeout(Duration.ofSeconds(awaitTimeoutSeconds + 10))
+            .GET()
+            .build();
+    return send(request).handle((response, error) -> {
+      if (error != null) {
+        recorder.failure(label, "completion", errorName(error));
+      } else if (response.statusCode() != 200) {
+        recorder.failure(label, "completion", "HTTP " + response.statusCode());
+      } else {
+        WorkflowCompletion completion = read(response.body(), WorkflowCompletion.class);
+        if (!completion.isFinished()) {
+          recorder.failure(label, "completion", "timeout");
+        } else if (!"COMPLETED".equals(completion.getRuntimeStatus())) {
+          recorder.failure(label, "completion", completion.getRuntimeStatus());
+        } else {
+          recorder.success(label, "completion", dueNanos, sentNanos, System.nanoTime());
+        }
+      }
+      return null;
+    });
+  }
+
+  private HttpRequest post(String path, String body) {
+    return HttpRequest.newBuilder(baseUrl.resolve(path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+  }
+
+  private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private String write(Object value) {
+    try {
+      return mapper.writeValueAsString(value);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private <T> T read(String json, Class<T> type) {
+    try {
+      return mapper.readValue(json, type);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  private static String errorName(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    return cause.getClass().getSimpleName();
+  }
+
+  static Duration duration(String value) {
+    return value != null ? Duration.parse(value) : null;
+  }
+
+  /**
+   * Parses --name value and --name=value pairs.
+   */
+  static Map<String, String> options(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (int i = 0; i < args.length; i++) {
+      if (!args[i].startsWith("--")) {
+        throw new IllegalArgumentException("Unexpected argument " + args[i]);
+      }
+      String name = args[i].substring(2);
+      int equals = name.indexOf('=');
+      if (equals >= 0) {
+        options.put(name.substring(0, equals), name.substring(equals + 1));
+      } else if (i + 1 < args.length) {
+        options.put(name, args[++i]);
+      } else {
+        throw new IllegalArgumentException("Missing value for --" + name);
+      }
+    }
+    return options;
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a load run, written as JSON.
+ */
+public class LoadReport {
+
+  private String scenario;
+  private String arrival;
+  private long durationMillis;
+  private long elapsedMillis;
+  private long arrivals;
+  private long skipped;
+  private Map<String, Long> arrivalsByLabel = new LinkedHashMap<>();
+  private List<OperationReport> operations = new ArrayList<>();
+
+  /**
+   * @return name of the load scenario file, null for command line runs
+   */
+  public String getScenario() {
+    return scenario;
+  }
+
+  public void setScenario(String scenario) {
+    this.scenario = scenario;
+  }
+
+  public String getArrival() {
+    return arrival;
+  }
+
+  public void setArrival(String arrival) {
+    this.arrival = arrival;
+  }
+
+  /**
+   * @return configured duration of the arrivals
+   */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  public void setDurationMillis(long durationMillis) {
+    this.durationMillis = durationMillis;
+  }
+
+  /**
+   * @return time until the last workflow completed or timed out
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public long getArrivals() {
+    return arrivals;
+  }
+
+  public void setArrivals(long arrivals) {
+    this.arrivals = arrivals;
+  }
+
+  /**
+   * @return arrivals not sent because max-outstanding workflows were already in progress
+   */
+  public long getSkipped() {
+    return skipped;
+  }
+
+  public void setSkipped(long skipped) {
+    this.skipped = skipped;
+  }
+
+  public Map<String, Long> getArrivalsByLabel() {
+    return arrivalsByLabel;
+  }
+
+  public void setArrivalsByLabel(Map<String, Long> arrivalsByLabel) {
+    this.arrivalsByLabel = arrivalsByLabel;
+  }
+
+  public List<OperationReport> getOperations() {
+    return operations;
+  }
+
+  public void setOperations(List<OperationReport> operations) {
+    this.operations = operations;
+  }
+
+  public static class OperationReport {
+
+    private String label;
+    private String operation;
+    private long count;
+    private Map<String, Long> errors = new LinkedHashMap<>();
+    private double throughputPerSecond;
+    private Percentiles latencyMillis;
+    private Percentiles serviceTimeMillis;
+
+    public String getLabel() {
+      return label;
+    }
+
+    public void setLabel(String label) {
+      this.label = label;
+    }
+
+    /**
+     * @return start, event-start, event-continue or completion
+     */
+    public String getOperation() {
+      return operation;
+    }
+
+    public void setOperation(String operation) {
+      this.operation = operation;
+    }
+
+    /**
+     * @return successful operations
+     */
+    public long getCount() {
+      return count;
+    }
+
+    public void setCount(long count) {
+      this.count = count;
+    }
+
+    /**
+     * @return failed operations by HTTP status or error
+     */
+    public Map<String, Long> getErrors() {
+      return errors;
+    }
+
+    public void setErrors(Map<String, Long> errors) {
+      this.errors = errors;
+    }
+
+    public double getThroughputPerSecond() {
+      return throughputPerSecond;
+    }
+
+    public void setThroughputPerSecond(double throughputPerSecond) {
+      this.throughputPerSecond = throughputPerSecond;
+    }
+
+    /**
+     * @return latency from the time the operation was due, corrected for coordinated omission
+     */
+    public Percentiles getLatencyMillis() {
+      return latencyMillis;
+    }
+
+    public void setLatencyMillis(Percentiles latencyMillis) {
+      this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * @return latency from the time the request was sent
+     */
+    public Percentiles getServiceTimeMillis() {
+      return serviceTimeMillis;
+    }
+
+    public void setServiceTimeMillis(Percentiles serviceTimeMillis) {
+      this.serviceTimeMillis = serviceTimeMillis;
+    }
+  }
+
+  public static class Percentiles {
+
+    private double mean;
+    private double p50;
+    private double p90;
+    private double p99;
+    private double p999;
+    private double max;
+
+    public double getMean() {
+      return mean;
+    }
+
+    public void setMean(double mean) {
+      this.mean = mean;
+    }
+
+    public double getP50() {
+      return p50;
+    }
+
+    public void setP50(double p50) {
+      this.p50 = p50;
+    }
+
+    public double getP90() {
+      return p90;
+    }
+
+    public void setP90(double p90) {
+      this.p90 = p90;
+    }
+
+    public double getP99() {
+      return p99;
+    }
+
+    public void setP99(double p99) {
+      this.p99 = p99;
+    }
+
+    public double getP999() {
+      return p999;
+    }
+
+    public void setP999(double p999) {
+      this.p999 = p999;
+    }
+
+    public double getMax() {
+      return max;
+    }
+
+    public void setMax(double max) {
+      this.max = max;
+    }
+  }
+}
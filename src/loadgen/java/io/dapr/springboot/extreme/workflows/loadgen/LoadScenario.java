@@ -0,0 +1,191 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declarative load profile, read from YAML or JSON by {@link LoadScenarioRunner}: an arrival model and duration,
+ * plus a weighted mix of workflow shapes. See src/loadgen/scenarios for examples.
+ */
+public class LoadScenario {
+
+  private String name;
+  private String arrival = "constant:50";
+  private String duration = "PT60S";
+  private long awaitTimeoutSeconds = 120;
+  private int maxOutstanding = 10000;
+  private long seed = 42;
+  private List<Mix> mixes = new ArrayList<>();
+
+  public LoadScenario() {
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return arrival model, see {@link ArrivalModel#parse}
+   */
+  public String getArrival() {
+    return arrival;
+  }
+
+  public void setArrival(String arrival) {
+    this.arrival = arrival;
+  }
+
+  /**
+   * @return ISO-8601 duration of the arrivals
+   */
+  public String getDuration() {
+    return duration;
+  }
+
+  public void setDuration(String duration) {
+    this.duration = duration;
+  }
+
+  /**
+   * @return how long to wait for a workflow to finish, must cover the event delays and the retry loops
+   */
+  public long getAwaitTimeoutSeconds() {
+    return awaitTimeoutSeconds;
+  }
+
+  public void setAwaitTimeoutSeconds(long awaitTimeoutSeconds) {
+    this.awaitTimeoutSeconds = awaitTimeoutSeconds;
+  }
+
+  public int getMaxOutstanding() {
+    return maxOutstanding;
+  }
+
+  public void setMaxOutstanding(int maxOutstanding) {
+    this.maxOutstanding = maxOutstanding;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  public List<Mix> getMixes() {
+    return mixes;
+  }
+
+  public void setMixes(List<Mix> mixes) {
+    this.mixes = mixes;
+  }
+
+  /**
+   * One kind of workflow in the traffic, results are broken down by mix name.
+   */
+  public static class Mix {
+
+    private String name;
+    private double weight = 1;
+    private String scenario;
+    private Distribution items;
+    private Distribution startEventDelayMillis;
+    private Distribution continueEventDelayMillis;
+    private double neverArrives;
+
+    public Mix() {
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    /**
+     * @return share of the arrivals, relative to the weights of the other mixes
+     */
+    public double getWeight() {
+      return weight;
+    }
+
+    public void setWeight(double weight) {
+      this.weight = weight;
+    }
+
+    /**
+     * @return scenario passed to /start, the default scenario if unset
+     */
+    public String getScenario() {
+      return scenario;
+    }
+
+    public void setScenario(String scenario) {
+      this.scenario = scenario;
+    }
+
+    /**
+     * @return number of payment items, 3 if unset
+     */
+    public Distribution getItems() {
+      return items;
+    }
+
+    public void setItems(Distribution items) {
+      this.items = items;
+    }
+
+    /**
+     * @return delay between the start of the workflow and its START-EVENT, no START-EVENT if unset
+     */
+    public Distribution getStartEventDelayMillis() {
+      return startEventDelayMillis;
+    }
+
+    public void setStartEventDelayMillis(Distribution startEventDelayMillis) {
+      this.startEventDelayMillis = startEventDelayMillis;
+    }
+
+    /**
+     * @return delay between the start of the workflow and its CONTINUE-EVENT, no CONTINUE-EVENT if unset
+     */
+    public Distribution getContinueEventDelayMillis() {
+      return continueEventDelayMillis;
+    }
+
+    public void setContinueEventDelayMillis(Distribution continueEventDelayMillis) {
+      this.continueEventDelayMillis = continueEventDelayMillis;
+    }
+
+    /**
+     * @return fraction, between 0 and 1, of the workflows that never get their CONTINUE-EVENT and exhaust their retries
+     */
+    public double getNeverArrives() {
+      return neverArrives;
+    }
+
+    public void setNeverArrives(double neverArrives) {
+      this.neverArrives = neverArrives;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Runs a {@link LoadScenario} file with the {@link LoadGenerator}, results are broken down by mix.
+ *
+ * <pre>
+ * mvn -Ploadgen test-compile exec:exec -Dloadgen.args="--file src/loadgen/scenarios/mixed-payments.yaml"
+ * </pre>
+ *
+ * YAML and JSON files are both accepted. --url, --seed and --out override the defaults, the other settings come
+ * from the file.
+ */
+public class LoadScenarioRunner implements WorkflowPlan.Planner {
+
+  private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory())
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+
+  private final List<LoadScenario.Mix> mixes;
+
+  private final double[] cumulativeWeights;
+
+  private final Random random;
+
+  private final String runId;
+
+  public LoadScenarioRunner(LoadScenario scenario, long seed, String runId) {
+    this.mixes = validate(scenario);
+    this.cumulativeWeights = new double[mixes.size()];
+    double total = 0;
+    for (int i = 0; i < mixes.size(); i++) {
+      total += mixes.get(i).getWeight();
+      cumulativeWeights[i] = total;
+    }
+    this.random = new Random(seed);
+    this.runId = runId;
+  }
+
+  public static void main(String[] args) throws Exception {
+    run(LoadGenerator.options(args));
+  }
+
+  static void run(Map<String, String> options) throws Exception {
+    Path file = Path.of(options.get("file"));
+    LoadScenario scenario = read(file);
+    long seed = options.containsKey("seed") ? Long.parseLong(options.get("seed")) : scenario.getSeed();
+    Duration duration = Duration.parse(scenario.getDuration());
+    String runId = Long.toString(System.currentTimeMillis(), 36);
+    String name = scenario.getName() != null ? scenario.getName() : file.getFileName().toString();
+
+    try (LoadGenerator generator = new LoadGenerator(URI.create(options.getOrDefault("url", "http://localhost:8080")),
+            scenario.getAwaitTimeoutSeconds(), scenario.getMaxOutstanding())) {
+      LoadReport report = generator.run(scenario.getArrival(),
+              ArrivalModel.parse(scenario.getArrival(), duration, seed), duration,
+              new LoadScenarioRunner(scenario, seed + 1, runId));
+      report.setScenario(name);
+      generator.write(report, Path.of(options.getOrDefault("out", "target/loadgen-" + name + ".json")));
+    }
+  }
+
+  public static LoadScenario read(Path file) throws IOException {
+    // JSON is a subset of YAML, one parser covers both
+    return YAML.readValue(file.toFile(), LoadScenario.class);
+  }
+
+  @Override
+  public WorkflowPlan next(long sequence) {
+    LoadScenario.Mix mix = pick();
+    int items = mix.getItems() != null ? (int) Math.round(mix.getItems().sample(random)) : 3;
+    Duration startEventDelay = delay(mix.getStartEventDelayMillis());
+    Duration continueEventDelay = random.nextDouble() < mix.getNeverArrives()
+            ? null : delay(mix.getContinueEventDelayMillis());
+    return new WorkflowPlan(mix.getName(), mix.getScenario(),
+            LoadGenerator.paymentRequest("loadgen-" + runId + "-" + sequence, items),
+            startEventDelay, continueEventDelay);
+  }
+
+  private LoadScenario.Mix pick() {
+    double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+    for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+      if (value < cumulativeWeights[i]) {
+        return mixes.get(i);
+      }
+    }
+    return mixes.get(mixes.size() - 1);
+  }
+
+  private Duration delay(Distribution millis) {
+    return millis != null ? Duration.ofMillis(Math.round(millis.sample(random))) : null;
+  }
+
+  private static List<LoadScenario.Mix> validate(LoadScenario scenario) {
+    List<LoadScenario.Mix> mixes = scenario.getMixes();
+    if (mixes == null || mixes.isEmpty()) {
+      throw new IllegalArgumentException("A load scenario needs at least one mix");
+    }
+    for (int i = 0; i < mixes.size(); i++) {
+      LoadScenario.Mix mix = mixes.get(i);
+      if (mix.getName() == null) {
+        mix.setName(mix.getScenario() != null ? mix.getScenario() : "mix-" + i);
+      }
+      if (mix.getWeight() <= 0) {
+        throw new IllegalArgumentException("Weight of mix " + mix.getName() + " must be positive");
+      }
+      if (mix.getNeverArrives() < 0 || mix.getNeverArrives() > 1) {
+        throw new IllegalArgumentException("neverArrives of mix " + mix.getName() + " must be between 0 and 1");
+      }
+    }
+    return mixes;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.loadgen;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+
+import java.time.Duration;
+
+/**
+ * What the load generator does for one arrival: start a workflow, then raise its events after the given delays.
+ */
+public class WorkflowPlan {
+
+  private final String label;
+  private final String scenario;
+  private final PaymentRequest paymentRequest;
+  private final Duration startEventDelay;
+  private final Duration continueEventDelay;
+
+  /**
+   * @param label              results are broken down by label
+   * @param scenario           scenario passed to /start, null for the default one
+   * @param startEventDelay    delay after /start returned before /event-start, null to not send it
+   * @param continueEventDelay delay after /start returned before /event-continue, null if the event never arrives
+   */
+  public WorkflowPlan(String label, String scenario, PaymentRequest paymentRequest, Duration startEventDelay,
+                      Duration continueEventDelay) {
+    this.label = label;
+    this.scenario = scenario;
+    this.paymentRequest = paymentRequest;
+    this.startEventDelay = startEventDelay;
+    this.continueEventDelay = continueEventDelay;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public String getScenario() {
+    return scenario;
+  }
+
+  public PaymentRequest getPaymentRequest() {
+    return paymentRequest;
+  }
+
+  public Duration getStartEventDelay() {
+    return startEventDelay;
+  }
+
+  public Duration getContinueEventDelay() {
+    return continueEventDelay;
+  }
+
+  /**
+   * Produces the plan of every arrival, called from the single arrival thread.
+   */
+  public interface Planner {
+    WorkflowPlan next(long sequence);
+  }
+}
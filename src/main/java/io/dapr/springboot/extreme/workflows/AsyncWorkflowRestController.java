@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.service.PaymentWorkflowService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Asynchronous variant of the start and event endpoints, enabled with workflows.controller.async=true.
+ * The sidecar call runs on its own bounded executor (workflows.controller.async-threads and async-queue-capacity)
+ * and the servlet thread is released until the returned future completes, so Tomcat's thread pool no longer
+ * limits the number of calls in flight. Calls that don't fit in the executor are answered with 503, and starts
+ * never wait for an admission slot on it.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "workflows.controller", name = "async", havingValue = "true")
+public class AsyncWorkflowRestController {
+
+  private final Logger logger = LoggerFactory.getLogger(AsyncWorkflowRestController.class);
+
+  private final PaymentWorkflowService paymentWorkflowService;
+
+  private final ExecutorService executor;
+
+  public AsyncWorkflowRestController(PaymentWorkflowService paymentWorkflowService,
+                                     @Qualifier("asyncControllerExecutorService") ExecutorService executor) {
+    this.paymentWorkflowService = paymentWorkflowService;
+    this.executor = executor;
+  }
+
+  /**
+   * Multi retry Payment workflow
+   *
+   * @param paymentRequest to be sent to a remote http service
+   * @param scenario       name of a configured scenario, ignored if the request carries its own scenario
+   * @return workflow instance id created for the payment
+   */
+  @PostMapping("/start")
+  public CompletableFuture<PaymentRequest> placePaymentRequest(
+          @RequestBody PaymentRequest paymentRequest,
+          @RequestParam(value = "scenario", required = false) String scenario) {
+    return CompletableFuture.supplyAsync(() -> paymentWorkflowService.start(paymentRequest, scenario, false),
+            executor);
+  }
+
+  @PostMapping("/event-start")
+  public CompletableFuture<String> event(@RequestBody String content, @RequestParam("instanceId") String instanceId) {
+    logger.info("Event received with content {}.", content);
+    return CompletableFuture.supplyAsync(() -> {
+      paymentWorkflowService.raiseEvent(instanceId, "START-EVENT", content);
+      return "Event processed";
+    }, executor);
+  }
+
+  @PostMapping("/event-continue")
+  public CompletableFuture<String> eventContinue(@RequestBody String content,
+                                                 @RequestParam("instanceId") String instanceId) {
+    logger.info("Event received with content {}.", content);
+    return CompletableFuture.supplyAsync(() -> {
+      paymentWorkflowService.raiseEvent(instanceId, "CONTINUE-EVENT", content);
+      return "Event processed";
+    }, executor);
+  }
+}
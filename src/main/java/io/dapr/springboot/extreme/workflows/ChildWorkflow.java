@@ -1,26 +1,23 @@
 package io.dapr.springboot.extreme.workflows;
 
 import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import io.dapr.springboot.extreme.workflows.service.WorkflowMetrics;
 import io.dapr.workflows.Workflow;
 import io.dapr.workflows.WorkflowStub;
 import io.dapr.workflows.WorkflowTaskOptions;
 import io.dapr.workflows.WorkflowTaskRetryPolicy;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
 
 @Component
 public class ChildWorkflow implements Workflow {
 
-  private final MeterRegistry registry;
+  private final WorkflowMetrics workflowMetrics;
 
-  private Timer.Sample firstChildActivityTimerSample = null;
-  private Timer.Sample secondChildActivityTimerSample = null;
-  private Timer.Sample childWorkflowTimerSample = null;
-  public ChildWorkflow(MeterRegistry registry) {
-    this.registry = registry;
+  public ChildWorkflow(WorkflowMetrics workflowMetrics) {
+    this.workflowMetrics = workflowMetrics;
   }
 
   @Override
@@ -28,9 +25,7 @@ public class ChildWorkflow implements Workflow {
     return ctx -> {
 
 
-      if (!ctx.isReplaying()) {
-        childWorkflowTimerSample = Timer.start(registry);
-      }
+      Instant childWorkflowStart = ctx.getCurrentInstant();
 
       String instanceId = ctx.getInstanceId();
       ctx.getLogger().info("Child Workflow instance {} started", instanceId);
@@ -39,9 +34,7 @@ public class ChildWorkflow implements Workflow {
 
       ctx.getLogger().info("Let's call the first child activity for payment item {}.", paymentItem.getItemName());
 
-      if (!ctx.isReplaying()) {
-        firstChildActivityTimerSample = Timer.start(registry);
-      }
+      Instant firstChildActivityStart = ctx.getCurrentInstant();
       WorkflowTaskOptions taskOptions = new WorkflowTaskOptions(WorkflowTaskRetryPolicy
               .newBuilder()
               .setFirstRetryInterval(Duration.ofSeconds(5))
@@ -51,30 +44,22 @@ public class ChildWorkflow implements Workflow {
       paymentItem = ctx.callActivity(FirstChildActivity.class.getName(), paymentItem, taskOptions,
               PaymentItem.class).await();
 
-      if (!ctx.isReplaying()) {
-        firstChildActivityTimerSample.stop(registry.timer("firstChildActivity.workflow", "workflow", "callActivity"));
-      }
+      workflowMetrics.record(ctx, "firstChildActivity.workflow", firstChildActivityStart, "workflow", "callActivity");
 
       ctx.getLogger().info("First Activity for payment item: {} completed.", paymentItem.getItemName());
 
       ctx.getLogger().info("Let's call the second child activity for payment item {}.", paymentItem.getItemName());
 
-      if (!ctx.isReplaying()) {
-        secondChildActivityTimerSample = Timer.start(registry);
-      }
+      Instant secondChildActivityStart = ctx.getCurrentInstant();
       paymentItem = ctx.callActivity(SecondChildActivity.class.getName(), paymentItem,
               PaymentItem.class).await();
 
-      if (!ctx.isReplaying()) {
-        secondChildActivityTimerSample.stop(registry.timer("secondChildActivity.workflow", "workflow", "callActivity"));
-      }
+      workflowMetrics.record(ctx, "secondChildActivity.workflow", secondChildActivityStart, "workflow", "callActivity");
 
       ctx.getLogger().info("First Activity for payment item: {} completed.", paymentItem.getItemName());
 
       ctx.complete(paymentItem);
-      if (!ctx.isReplaying()) {
-        childWorkflowTimerSample.stop(registry.timer("end-child.workflow", "workflow", "workflow"));
-      }
+      workflowMetrics.record(ctx, "end-child.workflow", childWorkflowStart, "workflow", "workflow");
 
     };
   }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentItemChunk;
+import io.dapr.springboot.extreme.workflows.service.WorkflowMetrics;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.WorkflowStub;
+import io.dapr.workflows.WorkflowTaskOptions;
+import io.dapr.workflows.WorkflowTaskRetryPolicy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Same steps as {@link ChildWorkflow}, for a whole chunk of payment items: one orchestration and two
+ * activity calls per chunk instead of per item. A failing item fails, and retries, its whole chunk.
+ */
+@Component
+public class ChunkChildWorkflow implements Workflow {
+
+  private final WorkflowMetrics workflowMetrics;
+
+  public ChunkChildWorkflow(WorkflowMetrics workflowMetrics) {
+    this.workflowMetrics = workflowMetrics;
+  }
+
+  @Override
+  public WorkflowStub create() {
+    return ctx -> {
+
+      Instant chunkWorkflowStart = ctx.getCurrentInstant();
+
+      ctx.getLogger().info("Chunk Child Workflow instance {} started", ctx.getInstanceId());
+      PaymentItemChunk chunk = ctx.getInput(PaymentItemChunk.class);
+
+      ctx.getLogger().info("Let's call the first child batch activity for {} items at offset {}.",
+              chunk.getItems().size(), chunk.getOffset());
+
+      Instant firstBatchActivityStart = ctx.getCurrentInstant();
+      WorkflowTaskOptions taskOptions = new WorkflowTaskOptions(WorkflowTaskRetryPolicy
+              .newBuilder()
+              .setFirstRetryInterval(Duration.ofSeconds(5))
+              .setRetryTimeout(Duration.ofSeconds(5))
+              .setMaxNumberOfAttempts(3)
+              .build());
+      chunk = ctx.callActivity(FirstChildBatchActivity.class.getName(), chunk, taskOptions,
+              PaymentItemChunk.class).await();
+
+      workflowMetrics.record(ctx, "firstChildBatchActivity.workflow", firstBatchActivityStart,
+              "workflow", "callActivity");
+
+      ctx.getLogger().info("Let's call the second child batch activity for {} items at offset {}.",
+              chunk.getItems().size(), chunk.getOffset());
+
+      Instant secondBatchActivityStart = ctx.getCurrentInstant();
+      chunk = ctx.callActivity(SecondChildBatchActivity.class.getName(), chunk,
+              PaymentItemChunk.class).await();
+
+      workflowMetrics.record(ctx, "secondChildBatchActivity.workflow", secondBatchActivityStart,
+              "workflow", "callActivity");
+
+      workflowMetrics.record(ctx, "end-chunk-child.workflow", chunkWorkflowStart, "workflow", "workflow");
+      ctx.complete(chunk);
+
+    };
+  }
+}
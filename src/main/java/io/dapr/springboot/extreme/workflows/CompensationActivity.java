@@ -18,6 +18,7 @@ import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
 import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
+import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
@@ -32,6 +33,8 @@ public class CompensationActivity implements WorkflowActivity {
 
 
   private final Timer activityTimer;
+
+  private final LongTaskTimer activeTimer;
   private final ActivityTrackerService activityTrackerService;
 
   public CompensationActivity(ActivityTrackerService activityTrackerService, MeterRegistry registry) {
@@ -40,18 +43,22 @@ public class CompensationActivity implements WorkflowActivity {
             .description("Time for CompensationActivity activity execution")
             .tags("workflow", "CompensationActivity")
             .register(registry);
+    this.activeTimer = LongTaskTimer.builder("activity.active")
+            .description("Activity executions currently holding an activity worker thread")
+            .tags("workflow", "CompensationActivity")
+            .register(registry);
   }
 
   @Override
   public Object run(WorkflowActivityContext ctx) {
-    return activityTimer.record(() -> {
+    return activeTimer.record(() -> activityTimer.record(() -> {
       PaymentRequest paymentRequest = ctx.getInput(PaymentRequest.class);
 
       logger.info("Executing Compensation Activity.");
-      activityTrackerService.addExecutedActivity(ctx.getName());
+      activityTrackerService.addExecutedActivity(paymentRequest.getWorkflowInstanceId(), ctx.getName());
 
       return paymentRequest;
-    });
+    }));
   }
 
 
@@ -17,8 +17,10 @@ package io.dapr.springboot.extreme.workflows;
 import io.dapr.springboot.extreme.workflows.model.PaymentItem;
 import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
 import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
+import io.dapr.springboot.extreme.workflows.service.PaymentItemProcessor;
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
+import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
@@ -33,31 +35,38 @@ public class FirstChildActivity implements WorkflowActivity {
 
   private final Timer activityTimer;
 
+  private final LongTaskTimer activeTimer;
+
   private final ActivityTrackerService activityTrackerService;
 
-  public FirstChildActivity(ActivityTrackerService activityTrackerService, MeterRegistry registry) {
+  private final PaymentItemProcessor paymentItemProcessor;
+
+  public FirstChildActivity(ActivityTrackerService activityTrackerService, PaymentItemProcessor paymentItemProcessor,
+                            MeterRegistry registry) {
     this.activityTrackerService = activityTrackerService;
+    this.paymentItemProcessor = paymentItemProcessor;
     this.activityTimer = Timer.builder("activity.first-child-activity")
             .description("Time for FirstChildActivity activity execution")
             .tags("workflow", "FirstChildActivity")
             .register(registry);
+    this.activeTimer = LongTaskTimer.builder("activity.active")
+            .description("Activity executions currently holding an activity worker thread")
+            .tags("workflow", "FirstChildActivity")
+            .register(registry);
   }
 
   @Override
   public Object run(WorkflowActivityContext ctx) {
-    return activityTimer.record(() -> {
+    return activeTimer.record(() -> activityTimer.record(() -> {
       PaymentItem paymentItem = ctx.getInput(PaymentItem.class);
       logger.info("Executing First Child Activity.");
 
-      if(paymentItem.getItemName().equals("test5")){
-        throw new IllegalStateException("Breaking because test5");
-      }
+      paymentItem = paymentItemProcessor.first(paymentItem);
 
-      activityTrackerService.addExecutedActivity(ctx.getName());
-      paymentItem.setItemName(paymentItem.getItemName() + "-1");
+      activityTrackerService.addExecutedActivity(paymentItem.getWorkflowInstanceId(), ctx.getName());
       logger.info("First Child Activity: {}", paymentItem.getItemName());
       return paymentItem;
-    });
+    }));
   }
 
 
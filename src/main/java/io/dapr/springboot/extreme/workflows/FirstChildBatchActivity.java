@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import io.dapr.springboot.extreme.workflows.model.PaymentItemChunk;
+import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
+import io.dapr.springboot.extreme.workflows.service.PaymentItemProcessor;
+import io.dapr.workflows.WorkflowActivity;
+import io.dapr.workflows.WorkflowActivityContext;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the FirstChildActivity logic on every item of a chunk in a single activity call.
+ */
+@Component
+public class FirstChildBatchActivity implements WorkflowActivity {
+
+  private final Logger logger = LoggerFactory.getLogger(FirstChildBatchActivity.class);
+
+  private final Timer activityTimer;
+
+  private final LongTaskTimer activeTimer;
+
+  private final ActivityTrackerService activityTrackerService;
+
+  private final PaymentItemProcessor paymentItemProcessor;
+
+  public FirstChildBatchActivity(ActivityTrackerService activityTrackerService, PaymentItemProcessor paymentItemProcessor,
+                                 MeterRegistry registry) {
+    this.activityTrackerService = activityTrackerService;
+    this.paymentItemProcessor = paymentItemProcessor;
+    this.activityTimer = Timer.builder("activity.first-child-batch-activity")
+            .description("Time for FirstChildBatchActivity activity execution")
+            .tags("workflow", "FirstChildBatchActivity")
+            .register(registry);
+    this.activeTimer = LongTaskTimer.builder("activity.active")
+            .description("Activity executions currently holding an activity worker thread")
+            .tags("workflow", "FirstChildBatchActivity")
+            .register(registry);
+  }
+
+  @Override
+  public Object run(WorkflowActivityContext ctx) {
+    return activeTimer.record(() -> activityTimer.record(() -> {
+      PaymentItemChunk chunk = ctx.getInput(PaymentItemChunk.class);
+      logger.info("Executing FirstChildBatchActivity on {} items.", chunk.getItems().size());
+
+      List<PaymentItem> processed = new ArrayList<>(chunk.getItems().size());
+      for (PaymentItem paymentItem : chunk.getItems()) {
+        processed.add(paymentItemProcessor.first(paymentItem));
+      }
+      chunk.setItems(processed);
+
+      activityTrackerService.addExecutedActivity(chunk.getWorkflowInstanceId(), ctx.getName());
+      logger.info("FirstChildBatchActivity: {}", processed);
+      return chunk;
+    }));
+  }
+}
@@ -18,6 +18,7 @@ import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
 import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
+import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
@@ -33,25 +34,31 @@ public class NextActivity implements WorkflowActivity {
   private final ActivityTrackerService activityTrackerService;
   private final Timer activityTimer;
 
+  private final LongTaskTimer activeTimer;
+
   public NextActivity(ActivityTrackerService activityTrackerService, MeterRegistry registry) {
     this.activityTrackerService = activityTrackerService;
     this.activityTimer = Timer.builder("activity.next-activity")
             .description("Time for NextActivity activity execution")
             .tags("workflow", "NextActivity")
             .register(registry);
+    this.activeTimer = LongTaskTimer.builder("activity.active")
+            .description("Activity executions currently holding an activity worker thread")
+            .tags("workflow", "NextActivity")
+            .register(registry);
   }
 
   @Override
   public Object run(WorkflowActivityContext ctx) {
-    return activityTimer.record(() -> {
+    return activeTimer.record(() -> activityTimer.record(() -> {
       PaymentRequest paymentRequest = ctx.getInput(PaymentRequest.class);
 
       logger.info("Executing Next Activity.");
 
-      activityTrackerService.addExecutedActivity(ctx.getName());
+      activityTrackerService.addExecutedActivity(paymentRequest.getWorkflowInstanceId(), ctx.getName());
 
       return paymentRequest;
-    });
+    }));
   }
 
 
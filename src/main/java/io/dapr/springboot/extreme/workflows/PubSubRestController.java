@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.Topic;
+import io.dapr.client.domain.BulkSubscribeAppResponse;
+import io.dapr.client.domain.BulkSubscribeAppResponseEntry;
+import io.dapr.client.domain.BulkSubscribeAppResponseStatus;
+import io.dapr.client.domain.BulkSubscribeMessage;
+import io.dapr.client.domain.BulkSubscribeMessageEntry;
+import io.dapr.client.domain.CloudEvent;
+import io.dapr.springboot.annotations.BulkSubscribe;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.service.PaymentWorkflowService;
+import io.dapr.springboot.extreme.workflows.service.WorkflowClientExecutor;
+import io.dapr.springboot.extreme.workflows.service.WorkflowClientExecutor.CallOutcome;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Receives PaymentRequests from the pub/sub topic in bulk and sends the CONTINUE-EVENT to their workflows.
+ */
+@RestController
+public class PubSubRestController {
+
+  private final Logger logger = LoggerFactory.getLogger(PubSubRestController.class);
+
+  private final PaymentWorkflowService paymentWorkflowService;
+
+  private final WorkflowClientExecutor workflowClientExecutor;
+
+  private final int concurrency;
+
+  private final DistributionSummary bulkSize;
+
+  public PubSubRestController(PaymentWorkflowService paymentWorkflowService,
+                              WorkflowClientExecutor workflowClientExecutor,
+                              @Value("${workflows.pubsub.concurrency:32}") int concurrency,
+                              MeterRegistry registry) {
+    this.paymentWorkflowService = paymentWorkflowService;
+    this.workflowClientExecutor = workflowClientExecutor;
+    this.concurrency = concurrency;
+    this.bulkSize = DistributionSummary.builder("pubsub.bulk.size")
+            .description("Messages delivered per bulk subscribe call")
+            .baseUnit("messages")
+            .register(registry);
+  }
+
+  /**
+   * Raises the CONTINUE-EVENT for every message of the batch, at most workflows.pubsub.concurrency at a time.
+   * Each message is a PaymentRequest with either the workflow instance id, or the payment id of a payment
+   * started through /start. Messages whose workflow can't be found are dropped, messages whose event could not
+   * be raised are redelivered.
+   *
+   * @param bulkMessage batch of messages delivered by Dapr
+   * @return a status per message
+   */
+  @Topic(name = "${dapr.pubsub.topic}", pubsubName = "${dapr.pubsub.name}")
+  @BulkSubscribe(maxMessagesCount = 100, maxAwaitDurationMs = 100)
+  @PostMapping("/asyncpubsub/continue")
+  public BulkSubscribeAppResponse continueWorkflows(
+          @RequestBody BulkSubscribeMessage<CloudEvent<PaymentRequest>> bulkMessage) throws InterruptedException {
+    List<BulkSubscribeMessageEntry<CloudEvent<PaymentRequest>>> entries = bulkMessage.getEntries();
+    bulkSize.record(entries.size());
+    logger.info("Received {} messages from topic {}.", entries.size(), bulkMessage.getTopic());
+
+    // Instance ids missing from the messages are looked up all at once, without holding client threads
+    List<CompletableFuture<String>> instanceIds = new ArrayList<>(entries.size());
+    List<Integer> indexes = new ArrayList<>(entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      instanceIds.add(instanceId(entries.get(i)));
+      indexes.add(i);
+    }
+    CompletableFuture.allOf(instanceIds.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+
+    List<CallOutcome<BulkSubscribeAppResponseStatus>> outcomes = workflowClientExecutor.invokeAll(indexes,
+            concurrency, i -> continueWorkflow(entries.get(i), instanceIds.get(i).join()));
+
+    List<BulkSubscribeAppResponseEntry> statuses = new ArrayList<>(entries.size());
+    for (int i = 0; i < entries.size(); i++) {
+      CallOutcome<BulkSubscribeAppResponseStatus> outcome = outcomes.get(i);
+      if (!outcome.isSuccess()) {
+        logger.warn("Failed to continue workflow for message {}: {}", entries.get(i).getEntryId(),
+                outcome.getError().getMessage());
+      }
+      statuses.add(new BulkSubscribeAppResponseEntry(entries.get(i).getEntryId(),
+              outcome.isSuccess() ? outcome.getResult() : BulkSubscribeAppResponseStatus.RETRY));
+    }
+    return new BulkSubscribeAppResponse(statuses);
+  }
+
+  private CompletableFuture<String> instanceId(BulkSubscribeMessageEntry<CloudEvent<PaymentRequest>> entry) {
+    PaymentRequest paymentRequest = paymentRequest(entry);
+    if (paymentRequest == null || paymentRequest.getWorkflowInstanceId() != null || paymentRequest.getId() == null) {
+      return CompletableFuture.completedFuture(paymentRequest != null ? paymentRequest.getWorkflowInstanceId() : null);
+    }
+    return paymentWorkflowService.findInstanceId(paymentRequest.getId());
+  }
+
+  /**
+   * @param instanceId workflow instance of the message, null if it could not be found
+   */
+  private BulkSubscribeAppResponseStatus continueWorkflow(BulkSubscribeMessageEntry<CloudEvent<PaymentRequest>> entry,
+                                                          String instanceId) {
+    PaymentRequest paymentRequest = paymentRequest(entry);
+    if (paymentRequest == null) {
+      return BulkSubscribeAppResponseStatus.DROP;
+    }
+    if (instanceId == null) {
+      logger.warn("No workflow found for payment {}, dropping message {}.", paymentRequest.getId(),
+              entry.getEntryId());
+      return BulkSubscribeAppResponseStatus.DROP;
+    }
+    paymentWorkflowService.raiseEvent(instanceId, "CONTINUE-EVENT", "Continued from " + entry.getEntryId());
+    return BulkSubscribeAppResponseStatus.SUCCESS;
+  }
+
+  private static PaymentRequest paymentRequest(BulkSubscribeMessageEntry<CloudEvent<PaymentRequest>> entry) {
+    return entry.getEvent() != null ? entry.getEvent().getData() : null;
+  }
+}
@@ -15,15 +15,19 @@ package io.dapr.springboot.extreme.workflows;
 
 
 import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
 import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
+import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 
 @Component
 public class RetryActivity implements WorkflowActivity {
@@ -32,6 +36,8 @@ public class RetryActivity implements WorkflowActivity {
 
   private final Timer activityTimer;
 
+  private final LongTaskTimer activeTimer;
+
   private final ActivityTrackerService activityTrackerService;
 
   public RetryActivity(ActivityTrackerService activityTrackerService, MeterRegistry registry) {
@@ -40,29 +46,37 @@ public class RetryActivity implements WorkflowActivity {
             .description("Time for RetryActivity activity execution")
             .tags("workflow", "RetryActivity")
             .register(registry);
+    this.activeTimer = LongTaskTimer.builder("activity.active")
+            .description("Activity executions currently holding an activity worker thread")
+            .tags("workflow", "RetryActivity")
+            .register(registry);
   }
 
   @Override
   public Object run(WorkflowActivityContext ctx) {
-    return activityTimer.record(() -> {
+    return activeTimer.record(() -> activityTimer.record(() -> {
       PaymentRequest paymentRequest = ctx.getInput(PaymentRequest.class);
 
 
       logger.info("Executing Retry Activity.");
 
-      for(int j = 0 ; j < 10 ; j ++) {
-        logger.info(">>>>> Waiting for 1 seconds ... ");
+      WorkflowScenario scenario = paymentRequest.getScenario() != null
+              ? paymentRequest.getScenario() : new WorkflowScenario();
+      // With a durable timer the workflow already waited, otherwise this worker thread sleeps the back-off
+      if (scenario.getRetryDelayMode() == WorkflowScenario.RetryDelayMode.ACTIVITY_SLEEP) {
+        logger.info(">>>>> Waiting for {} seconds ... ", scenario.getRetryDelaySeconds());
         try {
-          Thread.sleep(1000);
+          Thread.sleep(Duration.ofSeconds(scenario.getRetryDelaySeconds()).toMillis());
         } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
           throw new RuntimeException(e);
         }
       }
 
-      activityTrackerService.addExecutedActivity(ctx.getName());
+      activityTrackerService.addExecutedActivity(paymentRequest.getWorkflowInstanceId(), ctx.getName());
 
       return paymentRequest;
-    });
+    }));
   }
 
 
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.durabletask.Task;
+import io.dapr.durabletask.TaskCanceledException;
+import io.dapr.durabletask.TaskFailedException;
+import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import io.dapr.springboot.extreme.workflows.model.PaymentItemChunk;
+import io.dapr.springboot.extreme.workflows.model.PaymentItemFailure;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.WorkflowProgress;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario.RetryDelayMode;
+import io.dapr.springboot.extreme.workflows.service.RetryLogService;
+import io.dapr.springboot.extreme.workflows.service.WorkflowCompletingEvent;
+import io.dapr.springboot.extreme.workflows.service.WorkflowMetrics;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.WorkflowContext;
+import io.dapr.workflows.WorkflowStub;
+import io.dapr.workflows.WorkflowTaskOptions;
+import io.dapr.workflows.WorkflowTaskRetryPolicy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Payment workflow whose shape comes from the {@link WorkflowScenario} carried by the PaymentRequest:
+ * optional START-EVENT wait, optional FirstActivity, optional ChildWorkflow per payment item, then a
+ * CONTINUE-EVENT retry loop followed by the CompensationActivity or the NextActivity. The back-off of the
+ * retry loop is either slept inside RetryActivity or waited on a durable timer, see {@link RetryDelayMode}.
+ * Long retry loops can continue as new every {@code continueAsNewEvery} iterations, carrying the
+ * {@link WorkflowProgress} in the PaymentRequest, so the replayed history stays short.
+ *
+ * <p>The scenario is part of the workflow input, so every replay of an instance runs the same shape
+ * even if the configured scenarios change in the meantime. All metrics are tagged with the scenario name.</p>
+ */
+@Component
+public class ScenarioWorkflow implements Workflow {
+
+  private final RetryLogService retryLogService;
+
+  private final WorkflowMetrics workflowMetrics;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  public ScenarioWorkflow(RetryLogService retryLogService, WorkflowMetrics workflowMetrics,
+                          ApplicationEventPublisher eventPublisher) {
+    this.retryLogService = retryLogService;
+    this.workflowMetrics = workflowMetrics;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public WorkflowStub create() {
+    return ctx -> {
+
+      String instanceId = ctx.getInstanceId();
+
+      ctx.getLogger().info("Workflow instance {} started", instanceId);
+      PaymentRequest paymentRequest = ctx.getInput(PaymentRequest.class);
+      // Activities track their executions under the instance id carried by their input
+      paymentRequest.setWorkflowInstanceId(instanceId);
+      WorkflowScenario scenario = paymentRequest.getScenario() != null
+              ? paymentRequest.getScenario() : new WorkflowScenario();
+      String scenarioName = scenario.getName() != null ? scenario.getName() : "default";
+      WorkflowMetrics.Episode episode = workflowMetrics.episode(ctx, scenarioName);
+
+      WorkflowProgress progress = paymentRequest.getProgress();
+      boolean continued = progress != null;
+      if (!continued) {
+        progress = new WorkflowProgress();
+        progress.setStartedAtEpochMillis(ctx.getCurrentInstant().toEpochMilli());
+        paymentRequest.setProgress(progress);
+      }
+      Instant workflowStart = Instant.ofEpochMilli(progress.getStartedAtEpochMillis());
+
+      if (continued) {
+        ctx.getLogger().info("Continuing retry loop for payment: {} after {} retries.", paymentRequest.getId(),
+                progress.getRetryCount());
+      } else {
+        ctx.getLogger().info("Running scenario {} for payment: {}.", scenario, paymentRequest.getId());
+
+        if (scenario.isWaitForStartEvent()) {
+          ctx.getLogger().info("Let's wait for the START-EVENT to start processing payment: {}.", paymentRequest.getId());
+          //Waiting on this event to start processing
+          episode.await(ctx.waitForExternalEvent("START-EVENT",
+                  Duration.ofSeconds(scenario.getStartEventTimeoutSeconds()), String.class));
+        }
+
+        if (scenario.isFirstActivity()) {
+          ctx.getLogger().info("Let's call the first activity for payment: {}.", paymentRequest.getId());
+
+          Instant firstActivityStart = ctx.getCurrentInstant();
+
+          WorkflowTaskOptions taskOptions = new WorkflowTaskOptions(WorkflowTaskRetryPolicy
+                  .newBuilder()
+                  .setFirstRetryInterval(Duration.ofSeconds(5))
+                  .setRetryTimeout(Duration.ofSeconds(5))
+                  .setMaxNumberOfAttempts(3)
+                  .build());
+          paymentRequest = episode.await(ctx.callActivity(FirstActivity.class.getName(), paymentRequest, taskOptions,
+                  PaymentRequest.class));
+
+          workflowMetrics.record(ctx, "firstActivity.workflow", firstActivityStart,
+                  "workflow", "callActivity", "scenario", scenarioName);
+
+          ctx.getLogger().info("First Activity for payment: {} completed.", paymentRequest.getId());
+        }
+
+        if (scenario.isChildWorkflows()) {
+          progress.setChildWorkflows(runChildWorkflows(ctx, episode, paymentRequest, scenario, scenarioName));
+        }
+      }
+
+      String eventContent = "";
+      int iterationsInThisExecution = 0;
+
+      while (progress.getRetryCount() < scenario.getRetryIterations()) {
+        if (scenario.getContinueAsNewEvery() > 0 && iterationsInThisExecution == scenario.getContinueAsNewEvery()) {
+          // Start over with an empty history, carrying the retry count and the current payment request.
+          progress.setContinuations(progress.getContinuations() + 1);
+          ctx.getLogger().info("Continuing as new after {} retries.", progress.getRetryCount());
+          paymentRequest.setProgress(progress);
+          episode.finished();
+          ctx.continueAsNew(paymentRequest, true);
+          return;
+        }
+        iterationsInThisExecution++;
+        try {
+          ctx.getLogger().info("Wait for event, for {} seconds, iteration: {}.", scenario.getEventTimeoutSeconds(),
+                  progress.getRetryCount());
+          eventContent = episode.await(ctx.waitForExternalEvent("CONTINUE-EVENT",
+                  Duration.ofSeconds(scenario.getEventTimeoutSeconds()), String.class));
+          ctx.getLogger().info("Event arrived with content: {}", eventContent);
+          //We got the event, so we can break the loop.
+          break;
+        } catch (TaskCanceledException tce) {
+          progress.setRetryCount(progress.getRetryCount() + 1);
+          if (!ctx.isReplaying()) {
+            retryLogService.incrementRetryCounter(instanceId);
+          }
+          ctx.getLogger().info("Wait for event timed out. ");
+          if (scenario.getRetryDelayMode() == RetryDelayMode.DURABLE_TIMER) {
+            ctx.getLogger().info("Let's wait {} seconds on a durable timer before retrying.", scenario.getRetryDelaySeconds());
+            Instant retryDelayStart = ctx.getCurrentInstant();
+            episode.await(ctx.createTimer(Duration.ofSeconds(scenario.getRetryDelaySeconds())));
+            workflowMetrics.record(ctx, "retryDelay.workflow", retryDelayStart,
+                    "workflow", "createTimer", "scenario", scenarioName);
+          }
+          ctx.getLogger().info("Let's execute the Retry Activity. Retry: {}", progress.getRetryCount());
+
+          Instant retryActivityStart = ctx.getCurrentInstant();
+          paymentRequest = episode.await(ctx.callActivity(RetryActivity.class.getName(), paymentRequest,
+                  PaymentRequest.class));
+          workflowMetrics.record(ctx, "retryActivity.workflow", retryActivityStart,
+                  "workflow", "callActivity", "scenario", scenarioName);
+          ctx.getLogger().info("Retry Activity executed successfully. ");
+        }
+      }
+
+      if (eventContent.isEmpty() && scenario.isCompensationActivity()) {
+        ctx.getLogger().info("Retries exhausted after {} retries. ", progress.getRetryCount());
+        ctx.getLogger().info("Let's execute the Compensation Activity. ");
+        Instant compensationActivityStart = ctx.getCurrentInstant();
+        paymentRequest = episode.await(ctx.callActivity(CompensationActivity.class.getName(), paymentRequest,
+                PaymentRequest.class));
+        workflowMetrics.record(ctx, "compensationActivity.workflow", compensationActivityStart,
+                "workflow", "callActivity", "scenario", scenarioName);
+        ctx.getLogger().info("Compensation Activity executed successfully. ");
+      } else if (scenario.isNextActivity()) {
+        ctx.getLogger().info("We got the event after {} retries, let's execute the Next Activity. ",
+                progress.getRetryCount());
+        Instant nextActivityStart = ctx.getCurrentInstant();
+        paymentRequest = episode.await(ctx.callActivity(NextActivity.class.getName(), paymentRequest,
+                PaymentRequest.class));
+        workflowMetrics.record(ctx, "nextActivity.workflow", nextActivityStart,
+                "workflow", "callActivity", "scenario", scenarioName);
+        ctx.getLogger().info("Next activity executed successfully. ");
+      }
+
+      workflowMetrics.record(ctx, "end.workflow", workflowStart, "workflow", "workflow", "scenario", scenarioName);
+      paymentRequest.setProgress(progress);
+      episode.finished();
+      ctx.getLogger().info("Workflow {} Completed. ", paymentRequest.getId());
+      ctx.complete(paymentRequest);
+      if (!ctx.isReplaying()) {
+        eventPublisher.publishEvent(new WorkflowCompletingEvent(instanceId, paymentRequest));
+      }
+
+    };
+  }
+
+  /**
+   * Runs the child workflows of the payment items, one ChildWorkflow per item or, when the scenario sets a
+   * chunk size, one ChunkChildWorkflow per chunk of consecutive items. Every result is merged into the
+   * PaymentRequest as soon as its child finishes: processed items replace the original ones, and items of
+   * failed children are added to the failed payment items, so one failure doesn't discard the other results.
+   *
+   * @return number of child workflow instances
+   */
+  private int runChildWorkflows(WorkflowContext ctx, WorkflowMetrics.Episode episode, PaymentRequest paymentRequest,
+                                 WorkflowScenario scenario, String scenarioName) {
+    List<PaymentItem> items = new ArrayList<>(paymentRequest.getPaymentItems());
+    items.forEach(item -> item.setWorkflowInstanceId(paymentRequest.getWorkflowInstanceId()));
+    paymentRequest.setPaymentItems(items);
+    List<PaymentItemFailure> failures = paymentRequest.getFailedPaymentItems();
+    if (scenario.getChildChunkSize() > 0) {
+      List<PaymentItemChunk> chunks = new ArrayList<>();
+      for (int offset = 0; offset < items.size(); offset += scenario.getChildChunkSize()) {
+        int end = Math.min(items.size(), offset + scenario.getChildChunkSize());
+        chunks.add(new PaymentItemChunk(paymentRequest.getWorkflowInstanceId(), offset,
+                new ArrayList<>(items.subList(offset, end))));
+      }
+      ctx.getLogger().info("Let's create a chunk child workflow per {} paymentItems, {} chunks.",
+              scenario.getChildChunkSize(), chunks.size());
+      fanOut(ctx, episode, ChunkChildWorkflow.class, chunks, PaymentItemChunk.class, scenario.getChildWindow(),
+              scenarioName,
+              (index, chunk) -> {
+                for (int i = 0; i < chunk.getItems().size(); i++) {
+                  items.set(chunk.getOffset() + i, chunk.getItems().get(i));
+                }
+              },
+              (index, error) -> {
+                PaymentItemChunk chunk = chunks.get(index);
+                for (int i = 0; i < chunk.getItems().size(); i++) {
+                  failures.add(new PaymentItemFailure(chunk.getOffset() + i, chunk.getItems().get(i).getItemName(),
+                          error.getMessage()));
+                }
+              });
+    } else {
+      ctx.getLogger().info("Let's create a child workflow per paymentItem {}.", items);
+      List<PaymentItem> inputs = new ArrayList<>(items);
+      fanOut(ctx, episode, ChildWorkflow.class, inputs, PaymentItem.class, scenario.getChildWindow(), scenarioName,
+              items::set,
+              (index, error) -> failures.add(new PaymentItemFailure(index, inputs.get(index).getItemName(),
+                      error.getMessage())));
+    }
+    ctx.getLogger().info("Child workflows done, {} payment items failed: {}", failures.size(), failures);
+    return scenario.getChildChunkSize() > 0
+            ? (items.size() + scenario.getChildChunkSize() - 1) / scenario.getChildChunkSize() : items.size();
+  }
+
+  /**
+   * Child workflows get predictable instance ids, so they can be purged together with their parent.
+   *
+   * @param index position of the child in the fan-out
+   */
+  public static String childInstanceId(String parentInstanceId, int index) {
+    return parentInstanceId + "-child-" + index;
+  }
+
+  /**
+   * Runs one child workflow per input and hands every outcome to onSuccess or onFailure, with the index of
+   * the input, as soon as the child finishes. At most window children are in flight, 0 for no limit: a new
+   * child is only scheduled when anyOf reports that a running one finished, or fails because it failed. Every child records the
+   * orchestration time spent waiting for a free slot (childWorkflow.queue) and running (childWorkflow.execution).
+   */
+  private <I, O> void fanOut(WorkflowContext ctx, WorkflowMetrics.Episode episode, Class<?> childWorkflow,
+                             List<I> inputs, Class<O> outputType, int window, String scenarioName,
+                             BiConsumer<Integer, O> onSuccess, BiConsumer<Integer, TaskFailedException> onFailure) {
+    String childName = childWorkflow.getSimpleName();
+    int maxInFlight = window > 0 ? window : Math.max(1, inputs.size());
+    ctx.getLogger().info("Let's run {} child workflows, {} at a time.", inputs.size(), maxInFlight);
+
+    Instant fanOutStart = ctx.getCurrentInstant();
+    List<Task<?>> inFlight = new ArrayList<>(maxInFlight);
+    List<Integer> inFlightIndexes = new ArrayList<>(maxInFlight);
+    List<Instant> inFlightStarts = new ArrayList<>(maxInFlight);
+    int next = 0;
+
+    while (next < inputs.size() || !inFlight.isEmpty()) {
+      while (next < inputs.size() && inFlight.size() < maxInFlight) {
+        workflowMetrics.record(ctx, "childWorkflow.queue", fanOutStart,
+                "workflow", childName, "scenario", scenarioName);
+        I input = inputs.get(next);
+        String childInstanceId = childInstanceId(ctx.getInstanceId(), next);
+        inFlightStarts.add(ctx.getCurrentInstant());
+        inFlight.add(ctx.callChildWorkflow(childWorkflow.getName(), input, childInstanceId, outputType));
+        inFlightIndexes.add(next);
+        next++;
+      }
+
+      Task<?> finished;
+      try {
+        finished = episode.await(ctx.anyOf(inFlight));
+      } catch (TaskFailedException tfe) {
+        // anyOf fails when the first child to finish failed, handle that child like any other below
+        finished = firstDone(inFlight, tfe);
+      }
+      int slot = inFlight.indexOf(finished);
+      int index = inFlightIndexes.get(slot);
+      workflowMetrics.record(ctx, "childWorkflow.execution", inFlightStarts.get(slot),
+              "workflow", childName, "scenario", scenarioName);
+      inFlight.remove(slot);
+      inFlightIndexes.remove(slot);
+      inFlightStarts.remove(slot);
+      try {
+        onSuccess.accept(index, outputType.cast(finished.await()));
+      } catch (TaskFailedException tfe) {
+        ctx.getLogger().info("Child workflow {} failed: {}", index, tfe.getMessage());
+        onFailure.accept(index, tfe);
+      }
+    }
+  }
+
+  private static Task<?> firstDone(List<Task<?>> tasks, TaskFailedException anyOfFailure) {
+    for (Task<?> task : tasks) {
+      if (task.isDone()) {
+        return task;
+      }
+    }
+    throw anyOfFailure;
+  }
+}
@@ -16,8 +16,10 @@ package io.dapr.springboot.extreme.workflows;
 
 import io.dapr.springboot.extreme.workflows.model.PaymentItem;
 import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
+import io.dapr.springboot.extreme.workflows.service.PaymentItemProcessor;
 import io.dapr.workflows.WorkflowActivity;
 import io.dapr.workflows.WorkflowActivityContext;
+import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
@@ -32,27 +34,37 @@ public class SecondChildActivity implements WorkflowActivity {
 
   private final Timer activityTimer;
 
+  private final LongTaskTimer activeTimer;
+
   private final ActivityTrackerService activityTrackerService;
 
-  public SecondChildActivity(ActivityTrackerService activityTrackerService, MeterRegistry registry) {
+  private final PaymentItemProcessor paymentItemProcessor;
+
+  public SecondChildActivity(ActivityTrackerService activityTrackerService, PaymentItemProcessor paymentItemProcessor,
+                             MeterRegistry registry) {
     this.activityTrackerService = activityTrackerService;
+    this.paymentItemProcessor = paymentItemProcessor;
     this.activityTimer = Timer.builder("activity.second-child-activity")
             .description("Time for SecondChildActivity activity execution")
             .tags("workflow", "SecondChildActivity")
             .register(registry);
+    this.activeTimer = LongTaskTimer.builder("activity.active")
+            .description("Activity executions currently holding an activity worker thread")
+            .tags("workflow", "SecondChildActivity")
+            .register(registry);
   }
 
   @Override
   public Object run(WorkflowActivityContext ctx) {
-    return activityTimer.record(() -> {
+    return activeTimer.record(() -> activityTimer.record(() -> {
       PaymentItem paymentItem = ctx.getInput(PaymentItem.class);
 
       logger.info("Executing Second Child Activity.");
-      activityTrackerService.addExecutedActivity(ctx.getName());
-      paymentItem.setItemName(paymentItem.getItemName() + "-2");
+      activityTrackerService.addExecutedActivity(paymentItem.getWorkflowInstanceId(), ctx.getName());
+      paymentItem = paymentItemProcessor.second(paymentItem);
       logger.info("Second Child Activity: {}", paymentItem.getItemName());
       return paymentItem;
-    });
+    }));
   }
 
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.service.PaymentWorkflowService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Blocking variant of the start and event endpoints: the servlet thread waits for the sidecar call.
+ * Active unless workflows.controller.async=true.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "workflows.controller", name = "async", havingValue = "false", matchIfMissing = true)
+public class SyncWorkflowRestController {
+
+  private final Logger logger = LoggerFactory.getLogger(SyncWorkflowRestController.class);
+
+  private final PaymentWorkflowService paymentWorkflowService;
+
+  public SyncWorkflowRestController(PaymentWorkflowService paymentWorkflowService) {
+    this.paymentWorkflowService = paymentWorkflowService;
+  }
+
+  /**
+   * Multi retry Payment workflow
+   *
+   * @param paymentRequest to be sent to a remote http service
+   * @param scenario       name of a configured scenario, ignored if the request carries its own scenario
+   * @return workflow instance id created for the payment
+   */
+  @PostMapping("/start")
+  public PaymentRequest placePaymentRequest(@RequestBody PaymentRequest paymentRequest,
+                                            @RequestParam(value = "scenario", required = false) String scenario) {
+    return paymentWorkflowService.start(paymentRequest, scenario);
+  }
+
+  @PostMapping("/event-start")
+  public String event(@RequestBody String content, @RequestParam("instanceId") String instanceId) {
+    logger.info("Event received with content {}.", content);
+    paymentWorkflowService.raiseEvent(instanceId, "START-EVENT", content);
+    return "Event processed";
+  }
+
+  @PostMapping("/event-continue")
+  public String eventContinue(@RequestBody String content, @RequestParam("instanceId") String instanceId) {
+    logger.info("Event received with content {}.", content);
+    paymentWorkflowService.raiseEvent(instanceId, "CONTINUE-EVENT", content);
+    return "Event processed";
+  }
+}
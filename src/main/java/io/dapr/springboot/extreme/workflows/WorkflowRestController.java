@@ -14,21 +14,33 @@ limitations under the License.
 package io.dapr.springboot.extreme.workflows;
 
 import io.dapr.spring.workflows.config.EnableDaprWorkflows;
+import io.dapr.springboot.extreme.workflows.model.ActivityTrace;
+import io.dapr.springboot.extreme.workflows.model.BatchEventResult;
+import io.dapr.springboot.extreme.workflows.model.BatchStartRequest;
+import io.dapr.springboot.extreme.workflows.model.BatchStartResult;
 import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.PurgeResult;
 
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
 import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
+import io.dapr.springboot.extreme.workflows.service.AdmissionController;
+import io.dapr.springboot.extreme.workflows.service.BatchWorkflowService;
+import io.dapr.springboot.extreme.workflows.service.PaymentWorkflowService;
 import io.dapr.springboot.extreme.workflows.service.RetryLogService;
+import io.dapr.springboot.extreme.workflows.service.WorkflowRetentionService;
+import io.dapr.springboot.extreme.workflows.service.WorkflowScenarioService;
 import io.dapr.workflows.client.DaprWorkflowClient;
-import io.dapr.workflows.client.NewWorkflowOptions;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @EnableDaprWorkflows
@@ -40,74 +52,42 @@ public class WorkflowRestController {
   private DaprWorkflowClient daprWorkflowClient;
 
   @Autowired
-  private RetryLogService retryLogService;
+  private BatchWorkflowService batchWorkflowService;
 
   @Autowired
-  private ActivityTrackerService activityTrackerService;
-
-  private final Timer startWorkflowTimer;
-
-  private final Timer raiseEventWorkflowTimer;
+  private WorkflowScenarioService workflowScenarioService;
 
-  public WorkflowRestController(MeterRegistry registry) {
-    startWorkflowTimer = Timer.builder("start.workflow")
-            .description("Time start workflow execution")
-            .tags("workflow", "start")
-            .register(registry);
-
-    raiseEventWorkflowTimer = Timer.builder("event.workflow")
-            .description("Time raise event workflow")
-            .tags("workflow", "event")
-            .register(registry);
-  }
+  @Autowired
+  private ActivityTrackerService activityTrackerService;
 
-  /**
-   * Multi retry Payment workflow
-   *
-   * @param paymentRequest to be sent to a remote http service
-   * @return workflow instance id created for the payment
-   */
-  @PostMapping("/start")
-  public PaymentRequest placePaymentRequest(@RequestBody PaymentRequest paymentRequest) {
-    retryLogService.resetRetryCounter();
-    activityTrackerService.clearExecutedActivities();
-
-    String instanceId = startWorkflowTimer.record(() -> daprWorkflowClient
-            .scheduleNewWorkflow(SimpleWorkflowV9.class, paymentRequest));
-    paymentRequest.setWorkflowInstanceId(instanceId);
-    return paymentRequest;
-  }
+  @Autowired
+  private RetryLogService retryLogService;
 
+  @Autowired
+  private AdmissionController admissionController;
 
-  @PostMapping("/event-start")
-  public String event(@RequestBody String content, @RequestParam("instanceId") String instanceId) {
-    logger.info("Event received with content {}.", content);
-    raiseEventWorkflowTimer.record(() ->
-            daprWorkflowClient.raiseEvent(instanceId, "START-EVENT", content));
-    return "Event processed";
-  }
+  @Autowired
+  private PaymentWorkflowService paymentWorkflowService;
 
-  @PostMapping("/event-continue")
-  public String eventContinue(@RequestBody String content, @RequestParam("instanceId") String instanceId) {
-    logger.info("Event received with content {}.", content);
-    raiseEventWorkflowTimer.record(() ->
-            daprWorkflowClient.raiseEvent(instanceId, "CONTINUE-EVENT",
-                    content));
-    return "Event processed";
-  }
+  @Autowired
+  private WorkflowRetentionService workflowRetentionService;
 
   @DeleteMapping("/delete")
   public void terminate(@RequestParam("instanceId") String instanceId) {
     daprWorkflowClient.terminateWorkflow(instanceId, null);
+    retryLogService.removeRetryCounter(instanceId);
+    admissionController.finished(instanceId);
+    workflowRetentionService.retain(List.of(instanceId));
   }
 
   @PostMapping("/loop")
   public String loop(@RequestBody PaymentRequest paymentRequest) throws InterruptedException {
+    paymentRequest.setScenario(workflowScenarioService.getScenario("v8"));
     List<String> instances = new ArrayList<>();
     for (int i = 0; i < 1000; i++) {
 
-      String instanceId = startWorkflowTimer.record(() -> daprWorkflowClient
-              .scheduleNewWorkflow(SimpleWorkflowV8.class, paymentRequest));
+      // Same admission as /start, the burst waits for free slots instead of overloading the sidecar
+      String instanceId = paymentWorkflowService.scheduleAdmitted(ScenarioWorkflow.class, paymentRequest);
       instances.add(instanceId);
     }
     StringBuilder result = new StringBuilder("[");
@@ -119,14 +99,82 @@ public class WorkflowRestController {
     return result.toString();
   }
 
+  /**
+   * Schedules many workflow instances concurrently, keeping at most maxInFlight starts outstanding.
+   *
+   * @param batchStartRequest a list of payment requests, or a count and a payment request to repeat,
+   *                          plus the target workflow class (ScenarioWorkflow by default) and scenario
+   * @return the created instance ids and the achieved start throughput
+   */
+  @PostMapping("/start/batch")
+  public BatchStartResult startBatch(@RequestBody BatchStartRequest batchStartRequest) throws InterruptedException {
+    return batchWorkflowService.startBatch(batchStartRequest);
+  }
+
+  /**
+   * @return the named scenarios that can be passed to /start and /start/batch
+   */
+  @GetMapping("/scenarios")
+  public Map<String, WorkflowScenario> scenarios() {
+    return workflowScenarioService.getScenarios();
+  }
+
+  /**
+   * Sends the CONTINUE-EVENT to every instance concurrently.
+   *
+   * @param instances   workflow instance ids to complete
+   * @param concurrency max number of events in flight, defaults to workflows.events.concurrency
+   * @param rate        optional pacing in events per second
+   * @return achieved rate, latency percentiles and the error for every event that failed
+   */
   @PostMapping("/complete")
-  public void complete(@RequestBody List<String> instances) {
-    for (String instanceId : instances) {
-      raiseEventWorkflowTimer.record(() ->
-              daprWorkflowClient.raiseEvent(instanceId, "CONTINUE-EVENT",
-                      "hello world"));
-    }
+  public BatchEventResult complete(@RequestBody List<String> instances,
+                                   @RequestParam(value = "concurrency", required = false) Integer concurrency,
+                                   @RequestParam(value = "rate", required = false) Double rate)
+          throws InterruptedException {
+    return batchWorkflowService.raiseEvents(instances, "CONTINUE-EVENT", "hello world", concurrency, rate);
   }
 
-}
+  /**
+   * Removes finished instances from the state store, concurrently.
+   *
+   * @param instances   completed, failed or terminated workflow instance ids, child workflows are not included
+   * @param concurrency max number of purges in flight, defaults to workflows.retention.concurrency
+   * @param rate        optional pacing in purges per second, defaults to workflows.retention.rate
+   * @return purged and missing instance counts, and the error for every purge that failed
+   */
+  @PostMapping("/purge")
+  public PurgeResult purge(@RequestBody List<String> instances,
+                           @RequestParam(value = "concurrency", required = false) Integer concurrency,
+                           @RequestParam(value = "rate", required = false) Double rate)
+          throws InterruptedException {
+    return workflowRetentionService.purge(instances, concurrency, rate);
+  }
 
+  /**
+   * @return ids of the workflow instances whose activity executions are tracked
+   */
+  @GetMapping("/activities")
+  public Set<String> trackedInstances() {
+    return activityTrackerService.getTrackedInstances();
+  }
+
+  /**
+   * @return the latest activity executions of the instance, 404 if it is not tracked (anymore)
+   */
+  @GetMapping("/activities/{instanceId}")
+  public ResponseEntity<ActivityTrace> activities(@PathVariable("instanceId") String instanceId) {
+    ActivityTrace trace = activityTrackerService.getTrace(instanceId);
+    return trace != null ? ResponseEntity.ok(trace) : ResponseEntity.notFound().build();
+  }
+
+  /**
+   * @return instance id of the workflow started by /start for the payment, 404 if there is none
+   */
+  @GetMapping("/payments/{paymentId}")
+  public CompletableFuture<ResponseEntity<String>> paymentWorkflow(@PathVariable("paymentId") String paymentId) {
+    return paymentWorkflowService.findInstanceId(paymentId).thenApply(instanceId -> instanceId != null
+            ? ResponseEntity.ok(instanceId) : ResponseEntity.<String>notFound().build());
+  }
+
+}
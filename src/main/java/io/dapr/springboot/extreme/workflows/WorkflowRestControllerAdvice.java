@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.springboot.extreme.workflows.service.AdmissionRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@RestControllerAdvice
+public class WorkflowRestControllerAdvice {
+
+  /**
+   * Unknown scenarios or workflows and incomplete batch requests are client errors.
+   */
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ProblemDetail badRequest(IllegalArgumentException e) {
+    return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+  }
+
+  /**
+   * Starts rejected by the admission controller, clients should retry after the Retry-After delay.
+   */
+  @ExceptionHandler(AdmissionRejectedException.class)
+  public ResponseEntity<ProblemDetail> tooManyRequests(AdmissionRejectedException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+  }
+
+  /**
+   * Calls that don't fit in a bounded executor, like the one of the asynchronous endpoints.
+   */
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<ProblemDetail> serviceUnavailable(RejectedExecutionException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many asynchronous calls in flight"));
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowCompletion;
+import io.dapr.springboot.extreme.workflows.model.WorkflowStatus;
+import io.dapr.springboot.extreme.workflows.service.WorkflowCompletionService;
+import io.dapr.springboot.extreme.workflows.service.WorkflowStatusService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workflow instance states for dashboards and pollers, served from the short lived status cache.
+ */
+@RestController
+public class WorkflowStatusRestController {
+
+  private final WorkflowStatusService workflowStatusService;
+
+  private final WorkflowCompletionService workflowCompletionService;
+
+  public WorkflowStatusRestController(WorkflowStatusService workflowStatusService,
+                                      WorkflowCompletionService workflowCompletionService) {
+    this.workflowStatusService = workflowStatusService;
+    this.workflowCompletionService = workflowCompletionService;
+  }
+
+  /**
+   * @param includeIO whether to return the serialized input and output, more expensive to fetch
+   * @return the status of the instance, 404 if it doesn't exist
+   */
+  @GetMapping("/status/{instanceId}")
+  public ResponseEntity<WorkflowStatus> status(@PathVariable("instanceId") String instanceId,
+                                               @RequestParam(value = "includeIO", defaultValue = "false")
+                                               boolean includeIO) {
+    WorkflowStatus status = workflowStatusService.getStatus(instanceId, includeIO);
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+  }
+
+  /**
+   * @param instanceIds instances to look up, concurrently
+   * @param includeIO   whether to return the serialized inputs and outputs, more expensive to fetch
+   * @return the status of every instance, null for the ones that don't exist
+   */
+  @PostMapping("/status")
+  public Map<String, WorkflowStatus> statuses(@RequestBody List<String> instanceIds,
+                                              @RequestParam(value = "includeIO", defaultValue = "false")
+                                              boolean includeIO) {
+    return workflowStatusService.getStatuses(instanceIds, includeIO);
+  }
+
+  /**
+   * Holds the request, without blocking a servlet thread, until the instance reaches a terminal status.
+   *
+   * @param timeout max seconds to wait
+   * @return the final status and end-to-end latency, or finished=false with the last known status on timeout
+   */
+  @GetMapping("/await/{instanceId}")
+  public DeferredResult<WorkflowCompletion> await(@PathVariable("instanceId") String instanceId,
+                                                  @RequestParam(value = "timeout", defaultValue = "30") long timeout) {
+    if (timeout <= 0) {
+      throw new IllegalArgumentException("timeout must be a positive number of seconds");
+    }
+    // The service answers on timeout itself, the extra second only keeps the servlet container out of the way
+    DeferredResult<WorkflowCompletion> result = new DeferredResult<>(Duration.ofSeconds(timeout + 1).toMillis());
+    workflowCompletionService.awaitCompletion(instanceId, Duration.ofSeconds(timeout))
+            .whenComplete((completion, error) -> {
+              if (error != null) {
+                result.setErrorResult(error);
+              } else {
+                result.setResult(completion);
+              }
+            });
+    return result;
+  }
+}
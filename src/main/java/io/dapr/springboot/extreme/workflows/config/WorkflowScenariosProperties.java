@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.config;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named ScenarioWorkflow shapes, configured as workflows.scenarios.&lt;name&gt;.* (see workflow-scenarios.properties).
+ */
+@ConfigurationProperties(prefix = "workflows")
+public class WorkflowScenariosProperties {
+
+  private String defaultScenario = "v9";
+
+  private Map<String, WorkflowScenario> scenarios = new LinkedHashMap<>();
+
+  public String getDefaultScenario() {
+    return defaultScenario;
+  }
+
+  public void setDefaultScenario(String defaultScenario) {
+    this.defaultScenario = defaultScenario;
+  }
+
+  public Map<String, WorkflowScenario> getScenarios() {
+    return scenarios;
+  }
+
+  public void setScenarios(Map<String, WorkflowScenario> scenarios) {
+    this.scenarios = scenarios;
+  }
+}
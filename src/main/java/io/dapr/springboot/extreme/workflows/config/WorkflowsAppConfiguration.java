@@ -16,15 +16,31 @@ package io.dapr.springboot.extreme.workflows.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.dapr.spring.boot.autoconfigure.pubsub.DaprPubSubProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
-@EnableConfigurationProperties({DaprPubSubProperties.class})
+@EnableConfigurationProperties({DaprPubSubProperties.class, WorkflowScenariosProperties.class})
+@PropertySource("classpath:workflow-scenarios.properties")
+@EnableScheduling
 public class WorkflowsAppConfiguration {
   @Bean
   public ObjectMapper mapper() {
@@ -38,5 +54,68 @@ public class WorkflowsAppConfiguration {
     return new RestTemplateBuilder().build();
   }
 
+  /**
+   * Threads used to issue blocking DaprWorkflowClient calls concurrently (batch starts, event fan-out).
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService workflowClientExecutorService(@Value("${workflows.client.threads:64}") int threads) {
+    return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("workflow-client-"));
+  }
+
+  /**
+   * Single thread running the retention purges, so a long purge doesn't hold the scheduler shared by the other
+   * periodic jobs.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService retentionExecutorService() {
+    return Executors.newSingleThreadExecutor(new CustomizableThreadFactory("workflow-retention-"));
+  }
+
+  /**
+   * Single thread scheduling the status checks that confirm completions, and publishing the confirmed ones, so
+   * no workflow client thread waits for an instance to complete.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ScheduledExecutorService completionExecutorService() {
+    return Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("workflow-completion-"));
+  }
+
+  /**
+   * Threads of the asynchronous /start and event endpoints, separate from the workflow client pool so batch
+   * starts, status reads or purges can't starve them. When every thread is busy and the queue is full, calls
+   * are rejected and answered with 503.
+   */
+  @Bean(destroyMethod = "shutdown")
+  @ConditionalOnProperty(prefix = "workflows.controller", name = "async", havingValue = "true")
+  public ExecutorService asyncControllerExecutorService(
+          @Value("${workflows.controller.async-threads:64}") int threads,
+          @Value("${workflows.controller.async-queue-capacity:1000}") int queueCapacity) {
+    return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("async-controller-"),
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Times every scheduleNewWorkflow call, shared by the single, batch and async starts.
+   */
+  @Bean
+  public Timer startWorkflowTimer(MeterRegistry registry) {
+    return Timer.builder("start.workflow")
+            .description("Time start workflow execution")
+            .tags("workflow", "start")
+            .register(registry);
+  }
+
+  /**
+   * Times every raiseEvent call, shared by the single, batch and pub/sub events.
+   */
+  @Bean
+  public Timer raiseEventWorkflowTimer(MeterRegistry registry) {
+    return Timer.builder("event.workflow")
+            .description("Time raise event workflow")
+            .tags("workflow", "event")
+            .register(registry);
+  }
+
 
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+/**
+ * One activity execution recorded by the ActivityTrackerService.
+ */
+public class ActivityExecution {
+
+  private long sequence;
+  private String activityName;
+  private long timestampEpochMillis;
+
+  public ActivityExecution() {
+  }
+
+  public ActivityExecution(long sequence, String activityName, long timestampEpochMillis) {
+    this.sequence = sequence;
+    this.activityName = activityName;
+    this.timestampEpochMillis = timestampEpochMillis;
+  }
+
+  /**
+   * @return position of the execution among all the executions of the instance, starting at 0
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  public String getActivityName() {
+    return activityName;
+  }
+
+  public void setActivityName(String activityName) {
+    this.activityName = activityName;
+  }
+
+  public long getTimestampEpochMillis() {
+    return timestampEpochMillis;
+  }
+
+  public void setTimestampEpochMillis(long timestampEpochMillis) {
+    this.timestampEpochMillis = timestampEpochMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "ActivityExecution{" +
+            "sequence=" + sequence +
+            ", activityName='" + activityName + '\'' +
+            ", timestampEpochMillis=" + timestampEpochMillis +
+            '}';
+  }
+}
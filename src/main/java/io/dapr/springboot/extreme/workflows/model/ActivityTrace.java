@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latest activity executions of one workflow instance, as returned by GET /activities/{instanceId}.
+ */
+public class ActivityTrace {
+
+  private String instanceId;
+  private long totalActivities;
+  private boolean completed;
+  private List<ActivityExecution> activities = new ArrayList<>();
+
+  public ActivityTrace() {
+  }
+
+  public ActivityTrace(String instanceId, long totalActivities, boolean completed, List<ActivityExecution> activities) {
+    this.instanceId = instanceId;
+    this.totalActivities = totalActivities;
+    this.completed = completed;
+    this.activities = activities;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  public void setInstanceId(String instanceId) {
+    this.instanceId = instanceId;
+  }
+
+  /**
+   * @return activities executed by the instance so far, including the ones no longer kept in the trace
+   */
+  public long getTotalActivities() {
+    return totalActivities;
+  }
+
+  public void setTotalActivities(long totalActivities) {
+    this.totalActivities = totalActivities;
+  }
+
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  public void setCompleted(boolean completed) {
+    this.completed = completed;
+  }
+
+  /**
+   * @return the most recent executions, oldest first
+   */
+  public List<ActivityExecution> getActivities() {
+    return activities;
+  }
+
+  public void setActivities(List<ActivityExecution> activities) {
+    this.activities = activities;
+  }
+
+  @Override
+  public String toString() {
+    return "ActivityTrace{" +
+            "instanceId='" + instanceId + '\'' +
+            ", totalActivities=" + totalActivities +
+            ", completed=" + completed +
+            ", activities=" + activities +
+            '}';
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BatchEventResult {
+
+  private String eventName;
+  private int requested;
+  private int sent;
+  private int failed;
+  private int concurrency;
+  private double targetEventsPerSecond;
+  private long elapsedMillis;
+  private double eventsPerSecond;
+  private double p50Millis;
+  private double p99Millis;
+  private double maxMillis;
+  private Map<String, String> errors = new LinkedHashMap<>();
+
+  public BatchEventResult() {
+  }
+
+  public String getEventName() {
+    return eventName;
+  }
+
+  public void setEventName(String eventName) {
+    this.eventName = eventName;
+  }
+
+  public int getRequested() {
+    return requested;
+  }
+
+  public void setRequested(int requested) {
+    this.requested = requested;
+  }
+
+  public int getSent() {
+    return sent;
+  }
+
+  public void setSent(int sent) {
+    this.sent = sent;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public void setFailed(int failed) {
+    this.failed = failed;
+  }
+
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  public double getTargetEventsPerSecond() {
+    return targetEventsPerSecond;
+  }
+
+  public void setTargetEventsPerSecond(double targetEventsPerSecond) {
+    this.targetEventsPerSecond = targetEventsPerSecond;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public double getEventsPerSecond() {
+    return eventsPerSecond;
+  }
+
+  public void setEventsPerSecond(double eventsPerSecond) {
+    this.eventsPerSecond = eventsPerSecond;
+  }
+
+  public double getP50Millis() {
+    return p50Millis;
+  }
+
+  public void setP50Millis(double p50Millis) {
+    this.p50Millis = p50Millis;
+  }
+
+  public double getP99Millis() {
+    return p99Millis;
+  }
+
+  public void setP99Millis(double p99Millis) {
+    this.p99Millis = p99Millis;
+  }
+
+  public double getMaxMillis() {
+    return maxMillis;
+  }
+
+  public void setMaxMillis(double maxMillis) {
+    this.maxMillis = maxMillis;
+  }
+
+  /**
+   * @return error message per instance id for every event that could not be raised
+   */
+  public Map<String, String> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(Map<String, String> errors) {
+    this.errors = errors;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchStartRequest {
+
+  private Integer count;
+  private PaymentRequest paymentRequest;
+  private List<PaymentRequest> paymentRequests = new ArrayList<>();
+  private String workflow;
+  private String scenario;
+  private Integer maxInFlight;
+
+  public BatchStartRequest() {
+  }
+
+  public Integer getCount() {
+    return count;
+  }
+
+  public void setCount(Integer count) {
+    this.count = count;
+  }
+
+  public PaymentRequest getPaymentRequest() {
+    return paymentRequest;
+  }
+
+  public void setPaymentRequest(PaymentRequest paymentRequest) {
+    this.paymentRequest = paymentRequest;
+  }
+
+  public List<PaymentRequest> getPaymentRequests() {
+    return paymentRequests;
+  }
+
+  public void setPaymentRequests(List<PaymentRequest> paymentRequests) {
+    this.paymentRequests = paymentRequests;
+  }
+
+  /**
+   * @return simple name of a registered workflow that takes a PaymentRequest, ScenarioWorkflow if unset
+   */
+  public String getWorkflow() {
+    return workflow;
+  }
+
+  public void setWorkflow(String workflow) {
+    this.workflow = workflow;
+  }
+
+  public String getScenario() {
+    return scenario;
+  }
+
+  public void setScenario(String scenario) {
+    this.scenario = scenario;
+  }
+
+  public Integer getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public void setMaxInFlight(Integer maxInFlight) {
+    this.maxInFlight = maxInFlight;
+  }
+
+  @Override
+  public String toString() {
+    return "BatchStartRequest{" +
+            "count=" + count +
+            ", paymentRequest=" + paymentRequest +
+            ", paymentRequests=" + paymentRequests.size() +
+            ", workflow='" + workflow + '\'' +
+            ", scenario='" + scenario + '\'' +
+            ", maxInFlight=" + maxInFlight +
+            '}';
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchStartResult {
+
+  private String workflow;
+  private int requested;
+  private int started;
+  private int failed;
+  private int maxInFlight;
+  private long elapsedMillis;
+  private double startsPerSecond;
+  private List<String> instanceIds = new ArrayList<>();
+  private List<String> errors = new ArrayList<>();
+
+  public BatchStartResult() {
+  }
+
+  public String getWorkflow() {
+    return workflow;
+  }
+
+  public void setWorkflow(String workflow) {
+    this.workflow = workflow;
+  }
+
+  public int getRequested() {
+    return requested;
+  }
+
+  public void setRequested(int requested) {
+    this.requested = requested;
+  }
+
+  public int getStarted() {
+    return started;
+  }
+
+  public void setStarted(int started) {
+    this.started = started;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public void setFailed(int failed) {
+    this.failed = failed;
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public void setMaxInFlight(int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public double getStartsPerSecond() {
+    return startsPerSecond;
+  }
+
+  public void setStartsPerSecond(double startsPerSecond) {
+    this.startsPerSecond = startsPerSecond;
+  }
+
+  public List<String> getInstanceIds() {
+    return instanceIds;
+  }
+
+  public void setInstanceIds(List<String> instanceIds) {
+    this.instanceIds = instanceIds;
+  }
+
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(List<String> errors) {
+    this.errors = errors;
+  }
+}
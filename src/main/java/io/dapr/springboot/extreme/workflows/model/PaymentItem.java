@@ -2,6 +2,7 @@ package io.dapr.springboot.extreme.workflows.model;
 
 public class PaymentItem {
   private String itemName;
+  private String workflowInstanceId;
 
   public PaymentItem() {
   }
@@ -17,4 +18,15 @@ public class PaymentItem {
   public void setItemName(String itemName) {
     this.itemName = itemName;
   }
+
+  /**
+   * @return instance id of the payment workflow the item belongs to
+   */
+  public String getWorkflowInstanceId() {
+    return workflowInstanceId;
+  }
+
+  public void setWorkflowInstanceId(String workflowInstanceId) {
+    this.workflowInstanceId = workflowInstanceId;
+  }
 }
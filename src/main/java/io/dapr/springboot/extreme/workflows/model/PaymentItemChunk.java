@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consecutive payment items processed together by one ChunkChildWorkflow.
+ */
+public class PaymentItemChunk {
+
+  private String workflowInstanceId;
+  private int offset;
+  private List<PaymentItem> items = new ArrayList<>();
+
+  public PaymentItemChunk() {
+  }
+
+  public PaymentItemChunk(String workflowInstanceId, int offset, List<PaymentItem> items) {
+    this.workflowInstanceId = workflowInstanceId;
+    this.offset = offset;
+    this.items = items;
+  }
+
+  /**
+   * @return instance id of the payment workflow the chunk belongs to
+   */
+  public String getWorkflowInstanceId() {
+    return workflowInstanceId;
+  }
+
+  public void setWorkflowInstanceId(String workflowInstanceId) {
+    this.workflowInstanceId = workflowInstanceId;
+  }
+
+  /**
+   * @return position of the first item of the chunk in the payment request
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  public void setOffset(int offset) {
+    this.offset = offset;
+  }
+
+  public List<PaymentItem> getItems() {
+    return items;
+  }
+
+  public void setItems(List<PaymentItem> items) {
+    this.items = items;
+  }
+
+  @Override
+  public String toString() {
+    return "PaymentItemChunk{" +
+            "workflowInstanceId='" + workflowInstanceId + '\'' +
+            ", offset=" + offset +
+            ", items=" + items +
+            '}';
+  }
+}
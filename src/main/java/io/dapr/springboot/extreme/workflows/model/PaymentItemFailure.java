@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+/**
+ * Payment item whose child workflow failed, kept next to the successfully processed items.
+ */
+public class PaymentItemFailure {
+
+  private int index;
+  private String itemName;
+  private String error;
+
+  public PaymentItemFailure() {
+  }
+
+  public PaymentItemFailure(int index, String itemName, String error) {
+    this.index = index;
+    this.itemName = itemName;
+    this.error = error;
+  }
+
+  /**
+   * @return position of the item in the payment items of the request
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public String getItemName() {
+    return itemName;
+  }
+
+  public void setItemName(String itemName) {
+    this.itemName = itemName;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  @Override
+  public String toString() {
+    return "PaymentItemFailure{" +
+            "index=" + index +
+            ", itemName='" + itemName + '\'' +
+            ", error='" + error + '\'' +
+            '}';
+  }
+}
@@ -24,6 +24,9 @@ public class PaymentRequest {
   private Integer amount;
   private String workflowInstanceId;
   private List<PaymentItem> paymentItems = new ArrayList<>();
+  private List<PaymentItemFailure> failedPaymentItems = new ArrayList<>();
+  private WorkflowScenario scenario;
+  private WorkflowProgress progress;
 
   public PaymentRequest() {
 
@@ -75,6 +78,33 @@ public class PaymentRequest {
     this.paymentItems = paymentItems;
   }
 
+  /**
+   * @return payment items whose child workflow failed, their entry in paymentItems is left unprocessed
+   */
+  public List<PaymentItemFailure> getFailedPaymentItems() {
+    return failedPaymentItems;
+  }
+
+  public void setFailedPaymentItems(List<PaymentItemFailure> failedPaymentItems) {
+    this.failedPaymentItems = failedPaymentItems;
+  }
+
+  public WorkflowScenario getScenario() {
+    return scenario;
+  }
+
+  public void setScenario(WorkflowScenario scenario) {
+    this.scenario = scenario;
+  }
+
+  public WorkflowProgress getProgress() {
+    return progress;
+  }
+
+  public void setProgress(WorkflowProgress progress) {
+    this.progress = progress;
+  }
+
   @Override
   public String toString() {
     return "PaymentRequest{" +
@@ -83,6 +113,9 @@ public class PaymentRequest {
             ", amount=" + amount +
             ", workflowInstanceId='" + workflowInstanceId + '\'' +
             ", paymentItems=" + paymentItems +
+            ", failedPaymentItems=" + failedPaymentItems +
+            ", scenario=" + scenario +
+            ", progress=" + progress +
             '}';
   }
 }
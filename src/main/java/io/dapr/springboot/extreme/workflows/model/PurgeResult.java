@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PurgeResult {
+
+  private int requested;
+  private int purged;
+  private int notFound;
+  private int failed;
+  private long elapsedMillis;
+  private double purgesPerSecond;
+  private Map<String, String> errors = new LinkedHashMap<>();
+
+  public PurgeResult() {
+  }
+
+  public int getRequested() {
+    return requested;
+  }
+
+  public void setRequested(int requested) {
+    this.requested = requested;
+  }
+
+  public int getPurged() {
+    return purged;
+  }
+
+  public void setPurged(int purged) {
+    this.purged = purged;
+  }
+
+  /**
+   * @return instances that didn't exist, or were already purged
+   */
+  public int getNotFound() {
+    return notFound;
+  }
+
+  public void setNotFound(int notFound) {
+    this.notFound = notFound;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public void setFailed(int failed) {
+    this.failed = failed;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public double getPurgesPerSecond() {
+    return purgesPerSecond;
+  }
+
+  public void setPurgesPerSecond(double purgesPerSecond) {
+    this.purgesPerSecond = purgesPerSecond;
+  }
+
+  /**
+   * @return error per instance that could not be purged, running instances can't be purged
+   */
+  public Map<String, String> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(Map<String, String> errors) {
+    this.errors = errors;
+  }
+
+  @Override
+  public String toString() {
+    return "PurgeResult{" +
+            "requested=" + requested +
+            ", purged=" + purged +
+            ", notFound=" + notFound +
+            ", failed=" + failed +
+            ", elapsedMillis=" + elapsedMillis +
+            ", purgesPerSecond=" + purgesPerSecond +
+            ", errors=" + errors +
+            '}';
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+/**
+ * Outcome of waiting for a workflow instance to finish, as returned by /await.
+ */
+public class WorkflowCompletion {
+
+  private String instanceId;
+  private String runtimeStatus;
+  private boolean finished;
+  private Long endToEndMillis;
+  private long waitedMillis;
+
+  public WorkflowCompletion() {
+  }
+
+  public WorkflowCompletion(String instanceId, String runtimeStatus, boolean finished, Long endToEndMillis) {
+    this.instanceId = instanceId;
+    this.runtimeStatus = runtimeStatus;
+    this.finished = finished;
+    this.endToEndMillis = endToEndMillis;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  public void setInstanceId(String instanceId) {
+    this.instanceId = instanceId;
+  }
+
+  /**
+   * @return last known runtime status, null if the instance was not found before the timeout
+   */
+  public String getRuntimeStatus() {
+    return runtimeStatus;
+  }
+
+  public void setRuntimeStatus(String runtimeStatus) {
+    this.runtimeStatus = runtimeStatus;
+  }
+
+  /**
+   * @return whether the instance reached a terminal status, false if the wait timed out
+   */
+  public boolean isFinished() {
+    return finished;
+  }
+
+  public void setFinished(boolean finished) {
+    this.finished = finished;
+  }
+
+  /**
+   * @return time from the start of the instance to its completion, null if it didn't finish
+   */
+  public Long getEndToEndMillis() {
+    return endToEndMillis;
+  }
+
+  public void setEndToEndMillis(Long endToEndMillis) {
+    this.endToEndMillis = endToEndMillis;
+  }
+
+  /**
+   * @return how long this request waited
+   */
+  public long getWaitedMillis() {
+    return waitedMillis;
+  }
+
+  public void setWaitedMillis(long waitedMillis) {
+    this.waitedMillis = waitedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowCompletion{" +
+            "instanceId='" + instanceId + '\'' +
+            ", runtimeStatus='" + runtimeStatus + '\'' +
+            ", finished=" + finished +
+            ", endToEndMillis=" + endToEndMillis +
+            ", waitedMillis=" + waitedMillis +
+            '}';
+  }
+}
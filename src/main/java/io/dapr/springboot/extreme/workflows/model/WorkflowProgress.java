@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+/**
+ * Retry loop state, and the children to purge with the instance, carried from one execution of a workflow instance to the next through continueAsNew.
+ */
+public class WorkflowProgress {
+
+  private int retryCount;
+  private int continuations;
+  private long startedAtEpochMillis;
+  private int childWorkflows;
+
+  public WorkflowProgress() {
+  }
+
+  /**
+   * @return CONTINUE-EVENT timeouts so far, over all executions of the instance
+   */
+  public int getRetryCount() {
+    return retryCount;
+  }
+
+  public void setRetryCount(int retryCount) {
+    this.retryCount = retryCount;
+  }
+
+  /**
+   * @return how many times the instance continued as new, 0 for the first execution
+   */
+  public int getContinuations() {
+    return continuations;
+  }
+
+  public void setContinuations(int continuations) {
+    this.continuations = continuations;
+  }
+
+  /**
+   * @return orchestration time at which the first execution started
+   */
+  public long getStartedAtEpochMillis() {
+    return startedAtEpochMillis;
+  }
+
+  public void setStartedAtEpochMillis(long startedAtEpochMillis) {
+    this.startedAtEpochMillis = startedAtEpochMillis;
+  }
+
+  /**
+   * @return number of child workflow instances started by the first execution
+   */
+  public int getChildWorkflows() {
+    return childWorkflows;
+  }
+
+  public void setChildWorkflows(int childWorkflows) {
+    this.childWorkflows = childWorkflows;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowProgress{" +
+            "retryCount=" + retryCount +
+            ", continuations=" + continuations +
+            ", startedAtEpochMillis=" + startedAtEpochMillis +
+            ", childWorkflows=" + childWorkflows +
+            '}';
+  }
+}
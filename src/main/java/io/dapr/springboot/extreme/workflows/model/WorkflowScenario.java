@@ -0,0 +1,228 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+/**
+ * Describes the shape of a {@code ScenarioWorkflow} run. Defaults match the former SimpleWorkflowV9.
+ */
+public class WorkflowScenario {
+
+  /**
+   * Where the back-off between two CONTINUE-EVENT waits happens.
+   */
+  public enum RetryDelayMode {
+    /**
+     * RetryActivity sleeps, holding an activity worker thread for the whole delay.
+     */
+    ACTIVITY_SLEEP,
+    /**
+     * The workflow waits on a durable timer, no thread is held while waiting, RetryActivity returns immediately.
+     */
+    DURABLE_TIMER
+  }
+
+  private String name;
+  private boolean waitForStartEvent = false;
+  private long startEventTimeoutSeconds = 120;
+  private boolean firstActivity = true;
+  private boolean childWorkflows = false;
+  private int childWindow = 0;
+  private int childChunkSize = 0;
+  private int retryIterations = 10;
+  private long eventTimeoutSeconds = 5;
+  private RetryDelayMode retryDelayMode = RetryDelayMode.ACTIVITY_SLEEP;
+  private long retryDelaySeconds = 10;
+  private int continueAsNewEvery = 0;
+  private boolean compensationActivity = false;
+  private boolean nextActivity = true;
+
+  public WorkflowScenario() {
+  }
+
+  public WorkflowScenario(WorkflowScenario other) {
+    this.name = other.name;
+    this.waitForStartEvent = other.waitForStartEvent;
+    this.startEventTimeoutSeconds = other.startEventTimeoutSeconds;
+    this.firstActivity = other.firstActivity;
+    this.childWorkflows = other.childWorkflows;
+    this.childWindow = other.childWindow;
+    this.childChunkSize = other.childChunkSize;
+    this.retryIterations = other.retryIterations;
+    this.eventTimeoutSeconds = other.eventTimeoutSeconds;
+    this.retryDelayMode = other.retryDelayMode;
+    this.retryDelaySeconds = other.retryDelaySeconds;
+    this.continueAsNewEvery = other.continueAsNewEvery;
+    this.compensationActivity = other.compensationActivity;
+    this.nextActivity = other.nextActivity;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return whether the workflow waits for the START-EVENT before doing anything
+   */
+  public boolean isWaitForStartEvent() {
+    return waitForStartEvent;
+  }
+
+  public void setWaitForStartEvent(boolean waitForStartEvent) {
+    this.waitForStartEvent = waitForStartEvent;
+  }
+
+  public long getStartEventTimeoutSeconds() {
+    return startEventTimeoutSeconds;
+  }
+
+  public void setStartEventTimeoutSeconds(long startEventTimeoutSeconds) {
+    this.startEventTimeoutSeconds = startEventTimeoutSeconds;
+  }
+
+  public boolean isFirstActivity() {
+    return firstActivity;
+  }
+
+  public void setFirstActivity(boolean firstActivity) {
+    this.firstActivity = firstActivity;
+  }
+
+  /**
+   * @return whether a ChildWorkflow is started for every payment item
+   */
+  public boolean isChildWorkflows() {
+    return childWorkflows;
+  }
+
+  public void setChildWorkflows(boolean childWorkflows) {
+    this.childWorkflows = childWorkflows;
+  }
+
+  /**
+   * @return max number of child workflows in flight at the same time, 0 to start them all at once
+   */
+  public int getChildWindow() {
+    return childWindow;
+  }
+
+  public void setChildWindow(int childWindow) {
+    this.childWindow = childWindow;
+  }
+
+  /**
+   * @return payment items per ChunkChildWorkflow, 0 to run one ChildWorkflow per item
+   */
+  public int getChildChunkSize() {
+    return childChunkSize;
+  }
+
+  public void setChildChunkSize(int childChunkSize) {
+    this.childChunkSize = childChunkSize;
+  }
+
+  /**
+   * @return how many times the workflow waits for the CONTINUE-EVENT before giving up
+   */
+  public int getRetryIterations() {
+    return retryIterations;
+  }
+
+  public void setRetryIterations(int retryIterations) {
+    this.retryIterations = retryIterations;
+  }
+
+  public long getEventTimeoutSeconds() {
+    return eventTimeoutSeconds;
+  }
+
+  public void setEventTimeoutSeconds(long eventTimeoutSeconds) {
+    this.eventTimeoutSeconds = eventTimeoutSeconds;
+  }
+
+  public RetryDelayMode getRetryDelayMode() {
+    return retryDelayMode;
+  }
+
+  public void setRetryDelayMode(RetryDelayMode retryDelayMode) {
+    this.retryDelayMode = retryDelayMode;
+  }
+
+  /**
+   * @return back-off after every CONTINUE-EVENT timeout, applied according to the retry delay mode
+   */
+  public long getRetryDelaySeconds() {
+    return retryDelaySeconds;
+  }
+
+  public void setRetryDelaySeconds(long retryDelaySeconds) {
+    this.retryDelaySeconds = retryDelaySeconds;
+  }
+
+  /**
+   * @return retry iterations after which the instance continues as new with a fresh history, 0 to never do it
+   */
+  public int getContinueAsNewEvery() {
+    return continueAsNewEvery;
+  }
+
+  public void setContinueAsNewEvery(int continueAsNewEvery) {
+    this.continueAsNewEvery = continueAsNewEvery;
+  }
+
+  /**
+   * @return whether the CompensationActivity runs when the CONTINUE-EVENT never arrived
+   */
+  public boolean isCompensationActivity() {
+    return compensationActivity;
+  }
+
+  public void setCompensationActivity(boolean compensationActivity) {
+    this.compensationActivity = compensationActivity;
+  }
+
+  /**
+   * @return whether the NextActivity runs at the end, unless the CompensationActivity already ran
+   */
+  public boolean isNextActivity() {
+    return nextActivity;
+  }
+
+  public void setNextActivity(boolean nextActivity) {
+    this.nextActivity = nextActivity;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowScenario{" +
+            "name='" + name + '\'' +
+            ", waitForStartEvent=" + waitForStartEvent +
+            ", startEventTimeoutSeconds=" + startEventTimeoutSeconds +
+            ", firstActivity=" + firstActivity +
+            ", childWorkflows=" + childWorkflows +
+            ", childWindow=" + childWindow +
+            ", childChunkSize=" + childChunkSize +
+            ", retryIterations=" + retryIterations +
+            ", eventTimeoutSeconds=" + eventTimeoutSeconds +
+            ", retryDelayMode=" + retryDelayMode +
+            ", retryDelaySeconds=" + retryDelaySeconds +
+            ", continueAsNewEvery=" + continueAsNewEvery +
+            ", compensationActivity=" + compensationActivity +
+            ", nextActivity=" + nextActivity +
+            '}';
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.model;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a workflow instance state, as returned by /status.
+ */
+public class WorkflowStatus {
+
+  private String instanceId;
+  private String name;
+  private String runtimeStatus;
+  private Instant createdAt;
+  private Instant lastUpdatedAt;
+  private String serializedInput;
+  private String serializedOutput;
+  private String failure;
+  private Instant fetchedAt;
+
+  public WorkflowStatus() {
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  public void setInstanceId(String instanceId) {
+    this.instanceId = instanceId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getRuntimeStatus() {
+    return runtimeStatus;
+  }
+
+  public void setRuntimeStatus(String runtimeStatus) {
+    this.runtimeStatus = runtimeStatus;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public Instant getLastUpdatedAt() {
+    return lastUpdatedAt;
+  }
+
+  public void setLastUpdatedAt(Instant lastUpdatedAt) {
+    this.lastUpdatedAt = lastUpdatedAt;
+  }
+
+  /**
+   * @return workflow input as JSON, only fetched when inputs and outputs are requested
+   */
+  public String getSerializedInput() {
+    return serializedInput;
+  }
+
+  public void setSerializedInput(String serializedInput) {
+    this.serializedInput = serializedInput;
+  }
+
+  /**
+   * @return workflow output as JSON, only fetched when inputs and outputs are requested
+   */
+  public String getSerializedOutput() {
+    return serializedOutput;
+  }
+
+  public void setSerializedOutput(String serializedOutput) {
+    this.serializedOutput = serializedOutput;
+  }
+
+  /**
+   * @return error message of a failed instance
+   */
+  public String getFailure() {
+    return failure;
+  }
+
+  public void setFailure(String failure) {
+    this.failure = failure;
+  }
+
+  /**
+   * @return when the state was read from the sidecar, the status may be cached since then
+   */
+  public Instant getFetchedAt() {
+    return fetchedAt;
+  }
+
+  public void setFetchedAt(Instant fetchedAt) {
+    this.fetchedAt = fetchedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowStatus{" +
+            "instanceId='" + instanceId + '\'' +
+            ", name='" + name + '\'' +
+            ", runtimeStatus='" + runtimeStatus + '\'' +
+            ", createdAt=" + createdAt +
+            ", lastUpdatedAt=" + lastUpdatedAt +
+            ", failure='" + failure + '\'' +
+            ", fetchedAt=" + fetchedAt +
+            '}';
+  }
+}
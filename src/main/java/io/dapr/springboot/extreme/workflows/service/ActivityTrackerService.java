@@ -1,23 +1,190 @@
 package io.dapr.springboot.extreme.workflows.service;
 
+import io.dapr.springboot.extreme.workflows.model.ActivityExecution;
+import io.dapr.springboot.extreme.workflows.model.ActivityTrace;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
 
+/**
+ * Keeps the latest activity executions of every workflow instance.
+ *
+ * <p>Each instance gets a fixed size ring buffer, written without locks by the activity worker threads, so
+ * memory stays bounded whatever the load. Instances are evicted a while after they complete, after being
+ * idle for too long (terminated or failed instances never complete), or, oldest first, when more than
+ * max-instances are tracked.</p>
+ */
 @Component
 public class ActivityTrackerService {
-  private final List<String> executedActivities = new ArrayList<>();
 
-  public void addExecutedActivity(String activityName){
-    executedActivities.add(activityName);
+  private final Map<String, InstanceTrace> traces = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean evicting = new AtomicBoolean();
+
+  private final int capacityPerInstance;
+
+  private final int maxInstances;
+
+  private final Duration idleTtl;
+
+  private final Duration completedTtl;
+
+  private final Counter evictedInstances;
+
+  public ActivityTrackerService(@Value("${workflows.tracker.capacity-per-instance:64}") int capacityPerInstance,
+                                @Value("${workflows.tracker.max-instances:10000}") int maxInstances,
+                                @Value("${workflows.tracker.idle-ttl:PT10M}") Duration idleTtl,
+                                @Value("${workflows.tracker.completed-ttl:PT1M}") Duration completedTtl,
+                                MeterRegistry registry) {
+    this.capacityPerInstance = capacityPerInstance;
+    this.maxInstances = maxInstances;
+    this.idleTtl = idleTtl;
+    this.completedTtl = completedTtl;
+    Gauge.builder("activity.tracker.instances", traces, Map::size)
+            .description("Workflow instances whose activity executions are tracked")
+            .register(registry);
+    this.evictedInstances = Counter.builder("activity.tracker.evictions")
+            .description("Workflow instances removed from the activity tracker")
+            .register(registry);
+  }
+
+  /**
+   * Records an activity execution for the instance, overwriting its oldest execution when its buffer is full.
+   */
+  public void addExecutedActivity(String instanceId, String activityName) {
+    long now = System.currentTimeMillis();
+    traces.computeIfAbsent(instanceId, id -> new InstanceTrace(capacityPerInstance, now))
+            .add(activityName, now);
+    if (traces.size() > maxInstances) {
+      evict();
+    }
+  }
+
+  /**
+   * @return the trace of the instance, null if it is not tracked
+   */
+  public ActivityTrace getTrace(String instanceId) {
+    InstanceTrace trace = traces.get(instanceId);
+    if (trace == null) {
+      return null;
+    }
+    return new ActivityTrace(instanceId, trace.next.get(), trace.completedAtMillis > 0, trace.snapshot());
   }
 
-  public List<String> getExecutedActivities(){
-    return executedActivities;
+  /**
+   * @return names of the latest activities executed by the instance, oldest first, empty if it is not tracked
+   */
+  public List<String> getExecutedActivities(String instanceId) {
+    InstanceTrace trace = traces.get(instanceId);
+    if (trace == null) {
+      return List.of();
+    }
+    return trace.snapshot().stream().map(ActivityExecution::getActivityName).collect(Collectors.toList());
   }
 
-  public void clearExecutedActivities(){
-    executedActivities.clear();
+  public Set<String> getTrackedInstances() {
+    return Set.copyOf(traces.keySet());
+  }
+
+  @EventListener
+  public void onWorkflowCompleted(WorkflowCompletedEvent event) {
+    InstanceTrace trace = traces.get(event.getInstanceId());
+    if (trace != null) {
+      trace.completedAtMillis = System.currentTimeMillis();
+    }
+  }
+
+  /**
+   * Removes expired instances, then the least recently active ones, completed first, until at most
+   * 90% of max-instances are left. Runs periodically and whenever max-instances is exceeded.
+   */
+  @Scheduled(fixedDelayString = "${workflows.tracker.eviction-interval:PT30S}")
+  public void evict() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      long now = System.currentTimeMillis();
+      traces.entrySet().removeIf(entry -> {
+        boolean expired = entry.getValue().isExpired(now, idleTtl, completedTtl);
+        if (expired) {
+          evictedInstances.increment();
+        }
+        return expired;
+      });
+      int overflow = traces.size() - (int) (maxInstances * 0.9);
+      if (overflow > 0) {
+        List<Map.Entry<String, InstanceTrace>> oldest = new ArrayList<>(traces.entrySet());
+        // Completed instances first (false sorts before true), then by last activity
+        oldest.sort(Comparator
+                .comparing((Map.Entry<String, InstanceTrace> entry) -> entry.getValue().completedAtMillis == 0)
+                .thenComparingLong(entry -> entry.getValue().lastActivityMillis));
+        for (int i = 0; i < overflow && i < oldest.size(); i++) {
+          if (traces.remove(oldest.get(i).getKey()) != null) {
+            evictedInstances.increment();
+          }
+        }
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  private static final class InstanceTrace {
+
+    private final AtomicReferenceArray<ActivityExecution> slots;
+    private final AtomicLong next = new AtomicLong();
+    private volatile long lastActivityMillis;
+    private volatile long completedAtMillis;
+
+    private InstanceTrace(int capacity, long now) {
+      this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+      this.lastActivityMillis = now;
+    }
+
+    private void add(String activityName, long now) {
+      long sequence = next.getAndIncrement();
+      slots.set((int) (sequence % slots.length()), new ActivityExecution(sequence, activityName, now));
+      lastActivityMillis = now;
+    }
+
+    /**
+     * Skips slots already overwritten by a newer execution or not written yet by a concurrent add.
+     */
+    private List<ActivityExecution> snapshot() {
+      long end = next.get();
+      long start = Math.max(0, end - slots.length());
+      List<ActivityExecution> executions = new ArrayList<>((int) (end - start));
+      for (long sequence = start; sequence < end; sequence++) {
+        ActivityExecution execution = slots.get((int) (sequence % slots.length()));
+        if (execution != null && execution.getSequence() == sequence) {
+          executions.add(execution);
+        }
+      }
+      return executions;
+    }
+
+    private boolean isExpired(long now, Duration idleTtl, Duration completedTtl) {
+      if (completedAtMillis > 0) {
+        return now - completedAtMillis > completedTtl.toMillis();
+      }
+      return now - lastActivityMillis > idleTtl.toMillis();
+    }
   }
-}
\ No newline at end of file
+}
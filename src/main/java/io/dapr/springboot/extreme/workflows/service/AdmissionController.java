@@ -0,0 +1,310 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of workflow instances started by this node that are still running.
+ *
+ * <p>A start takes a slot before scheduling the workflow and the slot is freed when the instance completes,
+ * is terminated through /delete, or when the periodic sweep finds it FAILED, TERMINATED, COMPLETED or gone.
+ * Instances whose status can't be read are freed after instance-timeout.
+ * When no slot is free the start waits up to queue-timeout, then is rejected with an
+ * {@link AdmissionRejectedException}.</p>
+ *
+ * <p>In FIXED mode the limit is the configured one. In ADAPTIVE mode the limit follows an AIMD rule driven by
+ * the p99 of the scheduling calls over every window of starts: it grows by one slot per window while the p99
+ * stays under target-p99, and is cut by decrease-factor when the sidecar slows down.</p>
+ */
+@Component
+public class AdmissionController {
+
+  private static final Set<String> FINISHED_STATUSES = Set.of("COMPLETED", "FAILED", "TERMINATED");
+
+  public enum Mode {
+    FIXED,
+    ADAPTIVE
+  }
+
+  private final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition slotFreed = lock.newCondition();
+
+  private final Map<String, Long> admittedInstances = new ConcurrentHashMap<>();
+
+  private final AtomicInteger queued = new AtomicInteger();
+
+  private final boolean enabled;
+
+  private final Mode mode;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final Duration queueTimeout;
+
+  private final Duration instanceTimeout;
+
+  private final Duration statusCheckAge;
+
+  private final WorkflowStatusService workflowStatusService;
+
+  private final long targetP99Nanos;
+
+  private final double decreaseFactor;
+
+  private final long[] window;
+
+  private int windowSize = 0;
+
+  private volatile int limit;
+
+  private int inFlight = 0;
+
+  private final Counter admitted;
+
+  private final Counter queuedThenAdmitted;
+
+  private final Counter rejected;
+
+  public AdmissionController(@Value("${workflows.admission.enabled:false}") boolean enabled,
+                             @Value("${workflows.admission.mode:fixed}") Mode mode,
+                             @Value("${workflows.admission.limit:1000}") int limit,
+                             @Value("${workflows.admission.min-limit:10}") int minLimit,
+                             @Value("${workflows.admission.max-limit:10000}") int maxLimit,
+                             @Value("${workflows.admission.queue-timeout:PT0S}") Duration queueTimeout,
+                             @Value("${workflows.admission.instance-timeout:PT30M}") Duration instanceTimeout,
+                             @Value("${workflows.admission.status-check-age:PT1M}") Duration statusCheckAge,
+                             @Value("${workflows.admission.target-p99:PT0.5S}") Duration targetP99,
+                             @Value("${workflows.admission.decrease-factor:0.9}") double decreaseFactor,
+                             @Value("${workflows.admission.window:100}") int window,
+                             WorkflowStatusService workflowStatusService,
+                             MeterRegistry registry) {
+    this.enabled = enabled;
+    this.mode = mode;
+    this.limit = limit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.queueTimeout = queueTimeout;
+    this.instanceTimeout = instanceTimeout;
+    this.statusCheckAge = statusCheckAge;
+    this.workflowStatusService = workflowStatusService;
+    this.targetP99Nanos = targetP99.toNanos();
+    this.decreaseFactor = decreaseFactor;
+    this.window = new long[Math.max(1, window)];
+    Gauge.builder("admission.limit", this, controller -> controller.limit)
+            .description("Max workflow instances started by this node running at the same time")
+            .register(registry);
+    Gauge.builder("admission.inflight", admittedInstances, Map::size)
+            .description("Running workflow instances started by this node")
+            .register(registry);
+    Gauge.builder("admission.queue.depth", queued, AtomicInteger::get)
+            .description("Workflow starts waiting for a free slot")
+            .register(registry);
+    this.admitted = decisions(registry, "admitted");
+    this.queuedThenAdmitted = decisions(registry, "queued");
+    this.rejected = decisions(registry, "rejected");
+  }
+
+  private static Counter decisions(MeterRegistry registry, String decision) {
+    return Counter.builder("admission.decisions")
+            .description("Admission decisions for workflow starts")
+            .tags("decision", decision)
+            .register(registry);
+  }
+
+  /**
+   * Takes a slot, waiting up to queue-timeout for one.
+   *
+   * @throws AdmissionRejectedException if no slot became free in time
+   */
+  public void acquire() {
+    if (!enabled) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (inFlight < limit) {
+        inFlight++;
+        admitted.increment();
+        return;
+      }
+      long remainingNanos = queueTimeout.toNanos();
+      queued.incrementAndGet();
+      try {
+        while (inFlight >= limit && remainingNanos > 0) {
+          remainingNanos = slotFreed.awaitNanos(remainingNanos);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        queued.decrementAndGet();
+      }
+      if (inFlight < limit) {
+        inFlight++;
+        queuedThenAdmitted.increment();
+        return;
+      }
+      rejected.increment();
+      throw new AdmissionRejectedException("Too many running workflows, limit is " + limit, retryAfter());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Takes a slot if one is free, without waiting.
+   *
+   * @throws AdmissionRejectedException if no slot is free
+   */
+  public void tryAcquire() {
+    if (!enabled) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (inFlight < limit) {
+        inFlight++;
+        admitted.increment();
+        return;
+      }
+      rejected.increment();
+      throw new AdmissionRejectedException("Too many running workflows, limit is " + limit, retryAfter());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Frees a slot taken by {@link #acquire()} whose workflow was not scheduled.
+   */
+  public void release() {
+    if (!enabled) {
+      return;
+    }
+    lock.lock();
+    try {
+      inFlight--;
+      slotFreed.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Binds the slot taken by {@link #acquire()} to the scheduled instance, and feeds the scheduling latency to
+   * the adaptive limit.
+   */
+  public void admitted(String instanceId, long schedulingNanos) {
+    if (!enabled) {
+      return;
+    }
+    admittedInstances.put(instanceId, System.nanoTime());
+    if (mode == Mode.ADAPTIVE) {
+      sample(schedulingNanos);
+    }
+  }
+
+  /**
+   * Frees the slot of an instance started by this node, no-op for other instances.
+   */
+  public void finished(String instanceId) {
+    if (admittedInstances.remove(instanceId) != null) {
+      release();
+    }
+  }
+
+  @EventListener
+  public void onWorkflowCompleted(WorkflowCompletedEvent event) {
+    finished(event.getInstanceId());
+  }
+
+  /**
+   * Frees the slots of instances running for longer than instance-timeout, and looks up the status of the ones
+   * admitted more than status-check-age ago: instances that failed, were terminated without going through /delete,
+   * or whose completion was missed are freed once their status comes back. The lookups don't block the sweep.
+   */
+  @Scheduled(fixedDelayString = "${workflows.admission.sweep-interval:PT1M}")
+  public void expire() {
+    long now = System.nanoTime();
+    admittedInstances.forEach((instanceId, admittedAt) -> {
+      if (now - admittedAt > instanceTimeout.toNanos()) {
+        finished(instanceId);
+      } else if (now - admittedAt > statusCheckAge.toNanos()) {
+        workflowStatusService.getStatusAsync(instanceId, false).thenAccept(status -> {
+          if (status == null || FINISHED_STATUSES.contains(status.getRuntimeStatus())) {
+            finished(instanceId);
+          }
+        });
+      }
+    });
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  private void sample(long schedulingNanos) {
+    lock.lock();
+    try {
+      window[windowSize++] = schedulingNanos;
+      if (windowSize < window.length) {
+        return;
+      }
+      long[] sorted = Arrays.copyOf(window, windowSize);
+      Arrays.sort(sorted);
+      long p99 = sorted[(int) Math.ceil(0.99 * sorted.length) - 1];
+      windowSize = 0;
+      int previous = limit;
+      if (p99 > targetP99Nanos) {
+        limit = Math.max(minLimit, (int) (limit * decreaseFactor));
+      } else {
+        limit = Math.min(maxLimit, limit + 1);
+      }
+      if (limit > previous) {
+        slotFreed.signalAll();
+      }
+      logger.debug("Scheduling p99 {} ms, admission limit {} -> {}", TimeUnit.NANOSECONDS.toMillis(p99), previous,
+              limit);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Duration retryAfter() {
+    return queueTimeout.isZero() ? Duration.ofSeconds(1) : queueTimeout;
+  }
+}
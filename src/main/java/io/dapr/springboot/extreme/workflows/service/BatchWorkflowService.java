@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.ChildWorkflow;
+import io.dapr.springboot.extreme.workflows.ChunkChildWorkflow;
+import io.dapr.springboot.extreme.workflows.ScenarioWorkflow;
+import io.dapr.springboot.extreme.workflows.model.BatchEventResult;
+import io.dapr.springboot.extreme.workflows.model.BatchStartRequest;
+import io.dapr.springboot.extreme.workflows.model.BatchStartResult;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.service.WorkflowClientExecutor.CallOutcome;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Schedules many workflow instances, or raises events to many of them, concurrently, so that
+ * throughput is bound by the Dapr backend instead of a single request thread waiting on every
+ * gRPC round trip.
+ */
+@Service
+public class BatchWorkflowService {
+
+  private static final Set<Class<?>> CHILD_WORKFLOWS = Set.of(ChildWorkflow.class, ChunkChildWorkflow.class);
+
+  private final Logger logger = LoggerFactory.getLogger(BatchWorkflowService.class);
+
+  private final DaprWorkflowClient daprWorkflowClient;
+
+  private final WorkflowClientExecutor workflowClientExecutor;
+
+  private final WorkflowScenarioService workflowScenarioService;
+
+  private final PaymentWorkflowService paymentWorkflowService;
+
+  private final Map<String, Class<? extends Workflow>> startableWorkflows = new TreeMap<>();
+
+  private final Timer raiseEventWorkflowTimer;
+
+  private final int clientThreads;
+
+  private final int defaultMaxInFlight;
+
+  private final int defaultEventConcurrency;
+
+  public BatchWorkflowService(DaprWorkflowClient daprWorkflowClient,
+                              WorkflowClientExecutor workflowClientExecutor,
+                              WorkflowScenarioService workflowScenarioService,
+                              PaymentWorkflowService paymentWorkflowService,
+                              List<Workflow> workflows,
+                              @Qualifier("raiseEventWorkflowTimer") Timer raiseEventWorkflowTimer,
+                              @Value("${workflows.client.threads:64}") int clientThreads,
+                              @Value("${workflows.batch.max-in-flight:32}") int defaultMaxInFlight,
+                              @Value("${workflows.events.concurrency:32}") int defaultEventConcurrency) {
+    this.daprWorkflowClient = daprWorkflowClient;
+    this.workflowClientExecutor = workflowClientExecutor;
+    this.workflowScenarioService = workflowScenarioService;
+    this.paymentWorkflowService = paymentWorkflowService;
+    for (Workflow workflow : workflows) {
+      @SuppressWarnings("unchecked")
+      Class<? extends Workflow> workflowClass = (Class<? extends Workflow>) ClassUtils.getUserClass(workflow);
+      // Child workflows take a PaymentItem or a PaymentItemChunk, not a PaymentRequest
+      if (!CHILD_WORKFLOWS.contains(workflowClass)) {
+        startableWorkflows.put(workflowClass.getSimpleName(), workflowClass);
+      }
+    }
+    this.raiseEventWorkflowTimer = raiseEventWorkflowTimer;
+    this.clientThreads = clientThreads;
+    this.defaultMaxInFlight = defaultMaxInFlight;
+    this.defaultEventConcurrency = defaultEventConcurrency;
+  }
+
+  /**
+   * Starts the workflows through the admission controller, see
+   * {@link PaymentWorkflowService#scheduleAdmitted(Class, PaymentRequest)}: starts wait for a free slot, and the
+   * ones rejected after queue-timeout are reported as failed.
+   */
+  public BatchStartResult startBatch(BatchStartRequest batchStartRequest) throws InterruptedException {
+    Class<? extends Workflow> workflowClass = resolveWorkflow(batchStartRequest.getWorkflow());
+    List<PaymentRequest> paymentRequests = paymentRequests(batchStartRequest);
+    if (workflowClass == ScenarioWorkflow.class) {
+      // With count, the list holds the same PaymentRequest several times, resolving it again is harmless.
+      for (PaymentRequest paymentRequest : paymentRequests) {
+        paymentRequest.setScenario(workflowScenarioService.resolve(paymentRequest, batchStartRequest.getScenario()));
+      }
+    }
+    int maxInFlight = inFlightLimit("maxInFlight", batchStartRequest.getMaxInFlight(), defaultMaxInFlight);
+
+    long start = System.nanoTime();
+    List<CallOutcome<String>> outcomes = workflowClientExecutor.invokeAll(paymentRequests, maxInFlight,
+            paymentRequest -> paymentWorkflowService.scheduleAdmitted(workflowClass, paymentRequest));
+    long elapsedNanos = System.nanoTime() - start;
+
+    BatchStartResult result = new BatchStartResult();
+    result.setWorkflow(workflowClass == ScenarioWorkflow.class
+            ? workflowClass.getSimpleName() + ":" + paymentRequests.get(0).getScenario().getName()
+            : workflowClass.getSimpleName());
+    result.setRequested(paymentRequests.size());
+    result.setMaxInFlight(maxInFlight);
+    for (CallOutcome<String> outcome : outcomes) {
+      if (outcome.isSuccess()) {
+        result.getInstanceIds().add(outcome.getResult());
+      } else {
+        result.getErrors().add(outcome.getError().getMessage());
+      }
+    }
+    result.setStarted(result.getInstanceIds().size());
+    result.setFailed(result.getErrors().size());
+    result.setElapsedMillis(elapsedNanos / 1_000_000);
+    result.setStartsPerSecond(elapsedNanos == 0 ? 0 : result.getStarted() * 1_000_000_000d / elapsedNanos);
+
+    logger.info("Started {} {} instances ({} failed) in {} ms, {} starts/s with {} in flight.",
+            result.getStarted(), result.getWorkflow(), result.getFailed(), result.getElapsedMillis(),
+            String.format("%.1f", result.getStartsPerSecond()), maxInFlight);
+    return result;
+  }
+
+  /**
+   * Raises the same event to every instance.
+   *
+   * @param concurrency     max number of raiseEvent calls in flight, null for the configured default
+   * @param eventsPerSecond target event rate, null or 0 to send as fast as the concurrency allows
+   */
+  public BatchEventResult raiseEvents(List<String> instanceIds, String eventName, Object content,
+                                      Integer concurrency, Double eventsPerSecond) throws InterruptedException {
+    int maxInFlight = inFlightLimit("concurrency", concurrency, defaultEventConcurrency);
+    double rate = eventsPerSecond != null ? eventsPerSecond : 0;
+
+    long start = System.nanoTime();
+    List<CallOutcome<String>> outcomes = workflowClientExecutor.invokeAll(instanceIds, maxInFlight, rate,
+            instanceId -> {
+              raiseEventWorkflowTimer.record(() -> daprWorkflowClient.raiseEvent(instanceId, eventName, content));
+              return instanceId;
+            });
+    long elapsedNanos = System.nanoTime() - start;
+
+    BatchEventResult result = new BatchEventResult();
+    result.setEventName(eventName);
+    result.setRequested(instanceIds.size());
+    result.setConcurrency(maxInFlight);
+    result.setTargetEventsPerSecond(rate);
+    long[] latencies = new long[outcomes.size()];
+    for (int i = 0; i < outcomes.size(); i++) {
+      CallOutcome<String> outcome = outcomes.get(i);
+      latencies[i] = outcome.getLatencyNanos();
+      if (!outcome.isSuccess()) {
+        result.getErrors().put(instanceIds.get(i), outcome.getError().getMessage());
+      }
+    }
+    Arrays.sort(latencies);
+    result.setFailed(result.getErrors().size());
+    result.setSent(result.getRequested() - result.getFailed());
+    result.setElapsedMillis(elapsedNanos / 1_000_000);
+    result.setEventsPerSecond(elapsedNanos == 0 ? 0 : result.getSent() * 1_000_000_000d / elapsedNanos);
+    result.setP50Millis(percentileMillis(latencies, 0.50));
+    result.setP99Millis(percentileMillis(latencies, 0.99));
+    result.setMaxMillis(percentileMillis(latencies, 1.0));
+
+    logger.info("Raised {} {} events ({} failed) in {} ms, {} events/s, p50 {} ms, p99 {} ms.",
+            result.getSent(), eventName, result.getFailed(), result.getElapsedMillis(),
+            String.format("%.1f", result.getEventsPerSecond()), result.getP50Millis(), result.getP99Millis());
+    return result;
+  }
+
+  /**
+   * Calls run on the workflows.client.threads pool, a larger limit would silently be capped by it.
+   */
+  private int inFlightLimit(String name, Integer requested, int defaultLimit) {
+    int limit = requested != null ? requested : Math.min(defaultLimit, clientThreads);
+    if (limit < 1 || limit > clientThreads) {
+      throw new IllegalArgumentException(name + " must be between 1 and workflows.client.threads (" + clientThreads
+              + "), got " + limit);
+    }
+    return limit;
+  }
+
+  /**
+   * Nearest-rank percentile over sorted latencies.
+   */
+  private static double percentileMillis(long[] sortedNanos, double percentile) {
+    if (sortedNanos.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile * sortedNanos.length);
+    return sortedNanos[Math.max(0, rank - 1)] / 1_000_000d;
+  }
+
+  private List<PaymentRequest> paymentRequests(BatchStartRequest batchStartRequest) {
+    if (batchStartRequest.getPaymentRequests() != null && !batchStartRequest.getPaymentRequests().isEmpty()) {
+      return batchStartRequest.getPaymentRequests();
+    }
+    if (batchStartRequest.getCount() == null || batchStartRequest.getCount() <= 0
+            || batchStartRequest.getPaymentRequest() == null) {
+      throw new IllegalArgumentException("Either paymentRequests or a count and a paymentRequest must be provided");
+    }
+    // Every instance gets the same serialized input, so the same PaymentRequest can be shared.
+    return new ArrayList<>(Collections.nCopies(batchStartRequest.getCount(), batchStartRequest.getPaymentRequest()));
+  }
+
+  /**
+   * Looks the workflow up by simple name among the registered workflows that take a PaymentRequest.
+   */
+  private Class<? extends Workflow> resolveWorkflow(String workflow) {
+    if (workflow == null || workflow.isBlank()) {
+      return ScenarioWorkflow.class;
+    }
+    Class<? extends Workflow> workflowClass = startableWorkflows.get(workflow);
+    if (workflowClass == null) {
+      throw new IllegalArgumentException("Unknown workflow " + workflow + ", use one of " + startableWorkflows.keySet());
+    }
+    return workflowClass;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.service.WorkflowClientExecutor.CallOutcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts a ScenarioWorkflow for every PaymentRequest consumed from Kafka, a batch of records at a time.
+ *
+ * <p>The workflows of a batch are scheduled concurrently, at most workflows.kafka.max-in-flight at a time,
+ * and offsets are only committed once scheduling succeeded. If a start fails, the records before it are
+ * committed and the batch is redelivered from the failed record. Starts are always idempotent, see
+ * {@link PaymentWorkflowService#startIdempotent}, so records after it that were already started get their
+ * existing workflow back. Records without a payment id are skipped.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "workflows.kafka", name = "enabled", havingValue = "true")
+public class KafkaPaymentListener {
+
+  private final Logger logger = LoggerFactory.getLogger(KafkaPaymentListener.class);
+
+  private final PaymentWorkflowService paymentWorkflowService;
+
+  private final WorkflowClientExecutor workflowClientExecutor;
+
+  private final MeterRegistry registry;
+
+  private final int maxInFlight;
+
+  private final String scenario;
+
+  private final Map<TopicPartition, AtomicLong> lagPerPartition = new ConcurrentHashMap<>();
+
+  private final Counter started;
+
+  private final Counter failed;
+
+  private final Counter skipped;
+
+  public KafkaPaymentListener(PaymentWorkflowService paymentWorkflowService,
+                              WorkflowClientExecutor workflowClientExecutor,
+                              @Value("${workflows.kafka.max-in-flight:32}") int maxInFlight,
+                              @Value("${workflows.kafka.scenario:#{null}}") String scenario,
+                              MeterRegistry registry) {
+    this.paymentWorkflowService = paymentWorkflowService;
+    this.workflowClientExecutor = workflowClientExecutor;
+    this.maxInFlight = maxInFlight;
+    this.scenario = scenario;
+    this.registry = registry;
+    this.started = Counter.builder("kafka.workflow.starts")
+            .description("Workflows started from Kafka records")
+            .tags("result", "success")
+            .register(registry);
+    this.failed = Counter.builder("kafka.workflow.starts")
+            .description("Workflows started from Kafka records")
+            .tags("result", "failure")
+            .register(registry);
+    this.skipped = Counter.builder("kafka.workflow.starts")
+            .description("Workflows started from Kafka records")
+            .tags("result", "skipped")
+            .register(registry);
+  }
+
+  @KafkaListener(topics = "${workflows.kafka.topic:payments}", batch = "true")
+  public void onPayments(List<ConsumerRecord<String, PaymentRequest>> records, Acknowledgment acknowledgment,
+                         Consumer<?, ?> consumer) throws InterruptedException {
+    List<CallOutcome<PaymentRequest>> outcomes = workflowClientExecutor.invokeAll(records, maxInFlight,
+            this::start);
+
+    int firstFailure = -1;
+    for (int i = 0; i < outcomes.size(); i++) {
+      if (outcomes.get(i).isSuccess()) {
+        if (outcomes.get(i).getResult() != null) {
+          started.increment();
+        }
+      } else {
+        failed.increment();
+        if (firstFailure < 0) {
+          firstFailure = i;
+          logger.warn("Failed to start workflow for record {}, redelivering from it: {}", records.get(i).offset(),
+                  outcomes.get(i).getError().getMessage());
+        }
+      }
+    }
+    updateLag(records, consumer);
+
+    if (firstFailure < 0) {
+      acknowledgment.acknowledge();
+    } else {
+      acknowledgment.nack(firstFailure, Duration.ofSeconds(1));
+    }
+  }
+
+  private PaymentRequest start(ConsumerRecord<String, PaymentRequest> record) {
+    PaymentRequest paymentRequest = record.value();
+    if (paymentRequest == null || paymentRequest.getId() == null || paymentRequest.getId().isBlank()) {
+      // Redelivering would fail the same way forever
+      skipped.increment();
+      logger.warn("Skipping record {} of {}-{} without a payment id.", record.offset(), record.topic(),
+              record.partition());
+      return null;
+    }
+    return paymentWorkflowService.startIdempotent(paymentRequest, scenario);
+  }
+
+  /**
+   * Lag as known by the consumer from its last fetch, no extra call to the broker.
+   */
+  private void updateLag(List<ConsumerRecord<String, PaymentRequest>> records, Consumer<?, ?> consumer) {
+    records.stream()
+            .map(record -> new TopicPartition(record.topic(), record.partition()))
+            .distinct()
+            .forEach(partition -> consumer.currentLag(partition).ifPresent(lag -> lagGauge(partition).set(lag)));
+  }
+
+  private AtomicLong lagGauge(TopicPartition partition) {
+    return lagPerPartition.computeIfAbsent(partition, tp -> {
+      AtomicLong lag = new AtomicLong();
+      Gauge.builder("kafka.workflow.lag", lag, AtomicLong::get)
+              .description("Records not consumed yet by the workflow listener")
+              .tags("topic", tp.topic(), "partition", String.valueOf(tp.partition()))
+              .register(registry);
+      return lag;
+    });
+  }
+}
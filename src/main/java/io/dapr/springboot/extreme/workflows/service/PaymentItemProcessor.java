@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per item logic of the child activities, shared by the single item and the chunk activities.
+ */
+@Component
+public class PaymentItemProcessor {
+
+  /**
+   * First child step, fails for the item named test5.
+   */
+  public PaymentItem first(PaymentItem paymentItem) {
+    if (paymentItem.getItemName().equals("test5")) {
+      throw new IllegalStateException("Breaking because test5");
+    }
+    paymentItem.setItemName(paymentItem.getItemName() + "-1");
+    return paymentItem;
+  }
+
+  /**
+   * Second child step.
+   */
+  public PaymentItem second(PaymentItem paymentItem) {
+    paymentItem.setItemName(paymentItem.getItemName() + "-2");
+    return paymentItem;
+  }
+}
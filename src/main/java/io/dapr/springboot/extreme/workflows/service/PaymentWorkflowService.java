@@ -0,0 +1,261 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.ScenarioWorkflow;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.workflows.Workflow;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.NewWorkflowOptions;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Starts payment workflows and raises their events. Shared by the blocking and the asynchronous
+ * REST controllers so both variants run exactly the same client calls.
+ */
+@Service
+public class PaymentWorkflowService {
+
+  private static final String INSTANCE_ID_PREFIX = "payment-";
+
+  private final DaprWorkflowClient daprWorkflowClient;
+
+  private final WorkflowScenarioService workflowScenarioService;
+
+  private final PaymentWorkflowsStore paymentWorkflowsStore;
+
+  private final AdmissionController admissionController;
+
+  private final Timer startWorkflowTimer;
+
+  private final Timer raiseEventWorkflowTimer;
+
+  private final boolean idempotent;
+
+  private final Map<String, CompletableFuture<String>> startsInFlight = new ConcurrentHashMap<>();
+
+  private final Counter inFlightDuplicates;
+
+  private final Counter existingDuplicates;
+
+  public PaymentWorkflowService(DaprWorkflowClient daprWorkflowClient,
+                                WorkflowScenarioService workflowScenarioService,
+                                PaymentWorkflowsStore paymentWorkflowsStore,
+                                AdmissionController admissionController,
+                                @Qualifier("startWorkflowTimer") Timer startWorkflowTimer,
+                                @Qualifier("raiseEventWorkflowTimer") Timer raiseEventWorkflowTimer,
+                                @Value("${workflows.start.idempotent:false}") boolean idempotent,
+                                MeterRegistry registry) {
+    this.daprWorkflowClient = daprWorkflowClient;
+    this.workflowScenarioService = workflowScenarioService;
+    this.paymentWorkflowsStore = paymentWorkflowsStore;
+    this.admissionController = admissionController;
+    this.startWorkflowTimer = startWorkflowTimer;
+    this.raiseEventWorkflowTimer = raiseEventWorkflowTimer;
+    this.idempotent = idempotent;
+    this.inFlightDuplicates = Counter.builder("start.workflow.duplicates")
+            .description("Idempotent starts answered with an existing workflow instance")
+            .tags("reason", "in-flight")
+            .register(registry);
+    this.existingDuplicates = Counter.builder("start.workflow.duplicates")
+            .description("Idempotent starts answered with an existing workflow instance")
+            .tags("reason", "existing")
+            .register(registry);
+  }
+
+  /**
+   * Starts a ScenarioWorkflow for the payment. With workflows.start.idempotent=true the instance id is derived
+   * from the payment id and a payment that already has a workflow, or whose start is in flight on another
+   * thread, gets the existing instance id back without scheduling a second workflow. New workflows are only
+   * scheduled once the admission controller grants a slot, see {@link AdmissionController}. Idempotent starts
+   * reject payments without an id with an IllegalArgumentException.
+   *
+   * @param paymentRequest payment to process, optionally carrying its own scenario descriptor
+   * @param scenarioName   optional name of a configured scenario, the default scenario if null
+   * @return the payment request with the resolved scenario and the workflow instance id
+   */
+  public PaymentRequest start(PaymentRequest paymentRequest, String scenarioName) {
+    return start(paymentRequest, scenarioName, true);
+  }
+
+  /**
+   * Same as {@link #start(PaymentRequest, String)}, but without waiting up to queue-timeout for an admission slot
+   * when waitForSlot is false: callers running on a small dedicated pool are rejected right away instead of
+   * blocking its threads.
+   */
+  public PaymentRequest start(PaymentRequest paymentRequest, String scenarioName, boolean waitForSlot) {
+    return start(paymentRequest, scenarioName, waitForSlot, idempotent);
+  }
+
+  /**
+   * Same as {@link #start(PaymentRequest, String)} with workflows.start.idempotent=true, whatever its value: for
+   * callers that get the same payment more than once, like consumers of redelivered records.
+   *
+   * @throws IllegalArgumentException if the payment has no id
+   */
+  public PaymentRequest startIdempotent(PaymentRequest paymentRequest, String scenarioName) {
+    return start(paymentRequest, scenarioName, true, true);
+  }
+
+  private PaymentRequest start(PaymentRequest paymentRequest, String scenarioName, boolean waitForSlot,
+                               boolean idempotent) {
+    if (idempotent && (paymentRequest.getId() == null || paymentRequest.getId().isBlank())) {
+      // The instance id is derived from the payment id, all payments without one would share a single workflow
+      throw new IllegalArgumentException("A payment id is required for idempotent starts.");
+    }
+    paymentRequest.setScenario(workflowScenarioService.resolve(paymentRequest, scenarioName));
+
+    String instanceId;
+    if (idempotent) {
+      instanceId = scheduleIdempotent(paymentRequest, waitForSlot);
+    } else {
+      instanceId = scheduleAdmitted(() -> daprWorkflowClient
+              .scheduleNewWorkflow(ScenarioWorkflow.class, paymentRequest), waitForSlot);
+      paymentWorkflowsStore.savePaymentWorkflow(paymentRequest, instanceId);
+    }
+    paymentRequest.setWorkflowInstanceId(instanceId);
+    return paymentRequest;
+  }
+
+  private String scheduleIdempotent(PaymentRequest paymentRequest, boolean waitForSlot) {
+    String instanceId = INSTANCE_ID_PREFIX + paymentRequest.getId();
+    CompletableFuture<String> start = new CompletableFuture<>();
+    CompletableFuture<String> inFlight = startsInFlight.putIfAbsent(instanceId, start);
+    if (inFlight != null) {
+      inFlightDuplicates.increment();
+      return inFlight.join();
+    }
+    try {
+      // Only the cache is checked: past its ttl, or after a restart, the deterministic instance id is what keeps
+      // the runtime from scheduling the payment twice, see schedule
+      String existing = paymentWorkflowsStore.getCachedPaymentWorkflowInstanceId(paymentRequest.getId());
+      if (existing != null) {
+        existingDuplicates.increment();
+      } else {
+        schedule(instanceId, paymentRequest, waitForSlot);
+        paymentWorkflowsStore.savePaymentWorkflow(paymentRequest, instanceId);
+      }
+      start.complete(existing != null ? existing : instanceId);
+    } catch (RuntimeException e) {
+      start.completeExceptionally(e);
+      throw e;
+    } finally {
+      startsInFlight.remove(instanceId, start);
+    }
+    return start.join();
+  }
+
+  /**
+   * Schedules the workflow with the given instance id. If scheduling fails because the instance already exists,
+   * for instance after its mapping expired from the store, the existing instance is kept. Any other failure,
+   * including a rejected admission, is rethrown: the caller must not get the id of an instance that was never
+   * scheduled.
+   */
+  private void schedule(String instanceId, PaymentRequest paymentRequest, boolean waitForSlot) {
+    NewWorkflowOptions options = new NewWorkflowOptions()
+            .setInstanceId(instanceId)
+            .setInput(paymentRequest);
+    try {
+      scheduleAdmitted(() -> daprWorkflowClient.scheduleNewWorkflow(ScenarioWorkflow.class, options), waitForSlot);
+    } catch (AdmissionRejectedException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      if (!alreadyExists(e) && !instanceFound(instanceId, e)) {
+        throw e;
+      }
+      existingDuplicates.increment();
+    }
+  }
+
+  private static boolean alreadyExists(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof StatusRuntimeException statusException
+              && statusException.getStatus().getCode() == Status.Code.ALREADY_EXISTS) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Fallback for sidecars that report the conflict with another code. The scheduling failure is kept if the
+   * lookup fails as well.
+   */
+  private boolean instanceFound(String instanceId, RuntimeException schedulingFailure) {
+    try {
+      WorkflowInstanceStatus status = daprWorkflowClient.getInstanceState(instanceId, false);
+      return status != null && status.isInstanceFound();
+    } catch (RuntimeException e) {
+      schedulingFailure.addSuppressed(e);
+      return false;
+    }
+  }
+
+  /**
+   * Schedules a workflow for the load endpoints, /loop and /start/batch: no idempotency and no payment mapping,
+   * but the same admission as {@link #start(PaymentRequest, String)}, waiting up to queue-timeout for a slot.
+   *
+   * @return the instance id
+   * @throws AdmissionRejectedException if no slot became free in time
+   */
+  public String scheduleAdmitted(Class<? extends Workflow> workflowClass, PaymentRequest paymentRequest) {
+    return scheduleAdmitted(() -> daprWorkflowClient.scheduleNewWorkflow(workflowClass, paymentRequest), true);
+  }
+
+  /**
+   * Runs the scheduling call in a slot of the admission controller. The slot is freed right away if scheduling
+   * fails, otherwise when the instance completes.
+   */
+  private String scheduleAdmitted(Supplier<String> scheduleCall, boolean waitForSlot) {
+    if (waitForSlot) {
+      admissionController.acquire();
+    } else {
+      admissionController.tryAcquire();
+    }
+    long start = System.nanoTime();
+    String instanceId;
+    try {
+      instanceId = startWorkflowTimer.record(scheduleCall);
+    } catch (RuntimeException e) {
+      admissionController.release();
+      throw e;
+    }
+    admissionController.admitted(instanceId, System.nanoTime() - start);
+    return instanceId;
+  }
+
+  /**
+   * @return instance id of the workflow started for the payment, completed with null if none was started
+   */
+  public CompletableFuture<String> findInstanceId(String paymentId) {
+    return paymentWorkflowsStore.findPaymentWorkflowInstanceId(paymentId);
+  }
+
+  public void raiseEvent(String instanceId, String eventName, Object content) {
+    raiseEventWorkflowTimer.record(() -> daprWorkflowClient.raiseEvent(instanceId, eventName, content));
+  }
+}
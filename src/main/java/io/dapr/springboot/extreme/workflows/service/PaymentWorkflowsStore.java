@@ -13,27 +13,242 @@ limitations under the License.
 
 package io.dapr.springboot.extreme.workflows.service;
 
+import io.dapr.client.DaprClient;
+import io.dapr.client.domain.State;
 import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
+/**
+ * Maps payment ids to the instance id of their workflow.
+ *
+ * <p>Mappings are kept in a local concurrent cache, bounded in size and time, in front of a Dapr state store.
+ * Writes go to the cache right away and are flushed to the state store in batches with saveBulkState, so
+ * starting a workflow doesn't wait for the store. Starts only look at the cache, the state store is read
+ * asynchronously, on a cache miss, by explicit lookups like /payments/{paymentId}.</p>
+ */
 @Component
 public class PaymentWorkflowsStore {
 
-  private final Map<String, String> paymentsWorkflows = new HashMap<>();
+  private static final String KEY_PREFIX = "payment-";
 
+  private final Logger logger = LoggerFactory.getLogger(PaymentWorkflowsStore.class);
+
+  private final Map<String, CachedInstance> cache = new ConcurrentHashMap<>();
+
+  private final Queue<State<?>> pendingWrites = new ConcurrentLinkedQueue<>();
+
+  private final AtomicBoolean flushing = new AtomicBoolean();
+
+  private final AtomicBoolean evicting = new AtomicBoolean();
+
+  private final DaprClient daprClient;
+
+  private final String storeName;
+
+  private final int maxSize;
+
+  private final Duration ttl;
+
+  private final int batchSize;
+
+  private final Counter cacheHits;
+
+  private final Counter cacheMisses;
+
+  private final Timer flushTimer;
+
+  public PaymentWorkflowsStore(DaprClient daprClient,
+                               @Value("${workflows.store.name:kvstore}") String storeName,
+                               @Value("${workflows.store.cache-max-size:100000}") int maxSize,
+                               @Value("${workflows.store.cache-ttl:PT10M}") Duration ttl,
+                               @Value("${workflows.store.batch-size:100}") int batchSize,
+                               MeterRegistry registry) {
+    this.daprClient = daprClient;
+    this.storeName = storeName;
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.batchSize = batchSize;
+    this.cacheHits = Counter.builder("payment.store.lookups")
+            .description("Payment to workflow lookups")
+            .tags("result", "hit")
+            .register(registry);
+    this.cacheMisses = Counter.builder("payment.store.lookups")
+            .description("Payment to workflow lookups")
+            .tags("result", "miss")
+            .register(registry);
+    this.flushTimer = Timer.builder("payment.store.flush")
+            .description("Time to write a batch of payment to workflow mappings to the state store")
+            .register(registry);
+    Gauge.builder("payment.store.pending", pendingWrites, Queue::size)
+            .description("Payment to workflow mappings not written to the state store yet")
+            .register(registry);
+    Gauge.builder("payment.store.cached", cache, Map::size)
+            .description("Payment to workflow mappings in the local cache")
+            .register(registry);
+  }
+
+  /**
+   * Caches the payment to workflow mapping and queues it for the next batched write. Payments without an id,
+   * accepted by non-idempotent starts, have nothing to be looked up by and are skipped.
+   */
   public void savePaymentWorkflow(PaymentRequest paymentRequest, String instanceId) {
-    paymentsWorkflows.put(paymentRequest.getId(), instanceId);
+    if (paymentRequest.getId() == null) {
+      return;
+    }
+    cache(paymentRequest.getId(), instanceId);
+    pendingWrites.add(new State<>(KEY_PREFIX + paymentRequest.getId(), instanceId, null));
   }
 
-  public String getPaymentWorkflowInstanceId(String paymentRequestId) {
-    return paymentsWorkflows.get(paymentRequestId);
+  /**
+   * @return the workflow instance id of the payment from the local cache, null if it is not cached
+   */
+  public String getCachedPaymentWorkflowInstanceId(String paymentRequestId) {
+    CachedInstance cached = cache.get(paymentRequestId);
+    if (cached != null && !cached.isExpired(System.nanoTime())) {
+      cacheHits.increment();
+      return cached.instanceId;
+    }
+    cacheMisses.increment();
+    return null;
   }
 
+  /**
+   * Looks the payment up in the local cache, or else in the state store without blocking the caller.
+   *
+   * @return the workflow instance id of the payment, completed with null if the payment is unknown
+   */
+  public CompletableFuture<String> findPaymentWorkflowInstanceId(String paymentRequestId) {
+    String cached = getCachedPaymentWorkflowInstanceId(paymentRequestId);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return daprClient.getState(storeName, KEY_PREFIX + paymentRequestId, String.class)
+            .toFuture()
+            .thenApply(state -> {
+              String instanceId = state != null ? state.getValue() : null;
+              if (instanceId != null) {
+                cache(paymentRequestId, instanceId);
+              }
+              return instanceId;
+            });
+  }
+
+  /**
+   * @return the mappings currently in the local cache
+   */
   public Map<String, String> getPaymentWorkflows() {
-    return paymentsWorkflows;
+    return cache.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().instanceId));
+  }
+
+  /**
+   * Writes the mappings pending when the flush starts to the state store, batchSize mappings per saveBulkState
+   * call. Mappings of a failed batch are queued again for the next flush.
+   */
+  @Scheduled(fixedDelayString = "${workflows.store.flush-interval:PT1S}")
+  public void flush() {
+    if (!flushing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      int remaining = pendingWrites.size();
+      List<State<?>> batch = new ArrayList<>(batchSize);
+      State<?> state;
+      while (remaining-- > 0 && (state = pendingWrites.poll()) != null) {
+        batch.add(state);
+        if (batch.size() == batchSize) {
+          write(batch);
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+      if (!batch.isEmpty()) {
+        write(batch);
+      }
+    } finally {
+      flushing.set(false);
+    }
+  }
+
+  /**
+   * Removes expired mappings, then the oldest ones until at most 90% of the max size are left.
+   */
+  @Scheduled(fixedDelayString = "${workflows.store.eviction-interval:PT30S}")
+  public void evict() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      long now = System.nanoTime();
+      cache.values().removeIf(cached -> cached.isExpired(now));
+      int overflow = cache.size() - (int) (maxSize * 0.9);
+      if (overflow > 0) {
+        cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtNanos))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList())
+                .forEach(cache::remove);
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    flush();
   }
 
+  private void cache(String paymentRequestId, String instanceId) {
+    cache.put(paymentRequestId, new CachedInstance(instanceId, System.nanoTime() + ttl.toNanos()));
+    if (cache.size() > maxSize) {
+      evict();
+    }
+  }
+
+  private void write(List<State<?>> batch) {
+    try {
+      flushTimer.record(() -> daprClient.saveBulkState(storeName, batch).block());
+    } catch (RuntimeException e) {
+      logger.warn("Failed to save {} payment workflows to {}, retrying on next flush: {}",
+              batch.size(), storeName, e.getMessage());
+      pendingWrites.addAll(batch);
+    }
+  }
+
+  private static final class CachedInstance {
+
+    private final String instanceId;
+    private final long expiresAtNanos;
+
+    private CachedInstance(String instanceId, long expiresAtNanos) {
+      this.instanceId = instanceId;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+
+    private boolean isExpired(long now) {
+      return now - expiresAtNanos > 0;
+    }
+  }
 }
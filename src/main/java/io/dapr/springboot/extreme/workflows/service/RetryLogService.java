@@ -1,22 +1,119 @@
 package io.dapr.springboot.extreme.workflows.service;
 
+import io.dapr.springboot.extreme.workflows.model.WorkflowProgress;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Counts CONTINUE-EVENT timeouts per running workflow instance, plus a global total over all instances.
+ *
+ * <p>An instance's counter is dropped when the instance completes, and its final retry count, taken from the
+ * workflow output so it also covers executions before a restart or a continueAsNew, is recorded into the
+ * workflow.retries distribution summary. Instances that never complete, failed or terminated ones, are
+ * dropped once they had no retry for idle-ttl, which must be longer than the longest event timeout.</p>
+ */
 @Component
 public class RetryLogService {
-  private AtomicInteger retryCounter = new AtomicInteger();
 
-  public void incrementRetryCounter(){
-    retryCounter.addAndGet(1);
+  private final Map<String, InstanceRetries> retriesPerInstance = new ConcurrentHashMap<>();
+
+  private final LongAdder totalRetries = new LongAdder();
+
+  private final MeterRegistry registry;
+
+  private final Duration idleTtl;
+
+  private final Counter evictedInstances;
+
+  public RetryLogService(MeterRegistry registry, @Value("${workflows.retries.idle-ttl:PT30M}") Duration idleTtl) {
+    this.registry = registry;
+    this.idleTtl = idleTtl;
+    FunctionCounter.builder("workflow.retries.total", totalRetries, LongAdder::sum)
+            .description("CONTINUE-EVENT timeouts over all workflow instances")
+            .register(registry);
+    Gauge.builder("workflow.retries.instances", retriesPerInstance, Map::size)
+            .description("Running workflow instances with at least one retry")
+            .register(registry);
+    this.evictedInstances = Counter.builder("workflow.retries.evictions")
+            .description("Retry counters dropped after idle-ttl without a retry, for instances that never completed")
+            .register(registry);
+  }
+
+  public void incrementRetryCounter(String instanceId) {
+    retriesPerInstance.computeIfAbsent(instanceId, id -> new InstanceRetries()).increment();
+    totalRetries.increment();
+  }
+
+  /**
+   * @return retries of the running instance, 0 if it has none or already completed
+   */
+  public int getRetryCounter(String instanceId) {
+    InstanceRetries retries = retriesPerInstance.get(instanceId);
+    return retries != null ? retries.count.intValue() : 0;
   }
 
-  public int getRetryCounter(){
-    return retryCounter.get();
+  /**
+   * @return retries over all instances since the application started
+   */
+  public long getRetryCounter() {
+    return totalRetries.sum();
   }
 
-  public void resetRetryCounter(){
-    retryCounter.set(0);
+  /**
+   * Forgets the instance, for instances that will never complete, like terminated ones.
+   */
+  public void removeRetryCounter(String instanceId) {
+    retriesPerInstance.remove(instanceId);
+  }
+
+  @EventListener
+  public void onWorkflowCompleted(WorkflowCompletedEvent event) {
+    retriesPerInstance.remove(event.getInstanceId());
+    WorkflowProgress progress = event.getPaymentRequest().getProgress();
+    WorkflowScenario scenario = event.getPaymentRequest().getScenario();
+    DistributionSummary.builder("workflow.retries")
+            .description("CONTINUE-EVENT timeouts per completed workflow instance")
+            .tags("scenario", scenario != null && scenario.getName() != null ? scenario.getName() : "default")
+            .register(registry)
+            .record(progress != null ? progress.getRetryCount() : 0);
+  }
+
+  /**
+   * Drops the counters of instances without a retry for idle-ttl.
+   */
+  @Scheduled(fixedDelayString = "${workflows.retries.eviction-interval:PT1M}")
+  public void evictIdle() {
+    long now = System.currentTimeMillis();
+    retriesPerInstance.values().removeIf(retries -> {
+      boolean idle = now - retries.lastRetryMillis > idleTtl.toMillis();
+      if (idle) {
+        evictedInstances.increment();
+      }
+      return idle;
+    });
+  }
+
+  private static final class InstanceRetries {
+
+    private final LongAdder count = new LongAdder();
+    private volatile long lastRetryMillis = System.currentTimeMillis();
+
+    private void increment() {
+      count.increment();
+      lastRetryMillis = System.currentTimeMillis();
+    }
   }
 }
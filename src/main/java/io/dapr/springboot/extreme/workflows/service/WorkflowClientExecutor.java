@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking DaprWorkflowClient calls on a dedicated thread pool, keeping at most
+ * maxInFlight calls outstanding per batch.
+ */
+@Component
+public class WorkflowClientExecutor {
+
+  private final ExecutorService executor;
+
+  public WorkflowClientExecutor(@Qualifier("workflowClientExecutorService") ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Runs a single blocking client call on the executor.
+   */
+  public <R> CompletableFuture<R> submit(Supplier<R> call) {
+    return CompletableFuture.supplyAsync(call, executor);
+  }
+
+  /**
+   * Calls the function once per input, with at most maxInFlight calls running at the same time.
+   * Blocks the caller until every call finished.
+   *
+   * @param inputs      one entry per call
+   * @param maxInFlight max number of concurrent calls
+   * @param call        blocking client call
+   * @return one outcome per input, in the same order as the inputs
+   */
+  public <T, R> List<CallOutcome<R>> invokeAll(List<T> inputs, int maxInFlight, Function<T, R> call)
+          throws InterruptedException {
+    return invokeAll(inputs, maxInFlight, 0, call);
+  }
+
+  /**
+   * Same as {@link #invokeAll(List, int, Function)} but paces the calls: call number i is not
+   * issued before start + i / callsPerSecond, regardless of how long previous calls took.
+   *
+   * @param callsPerSecond target call rate, 0 or less disables pacing
+   */
+  public <T, R> List<CallOutcome<R>> invokeAll(List<T> inputs, int maxInFlight, double callsPerSecond,
+                                               Function<T, R> call) throws InterruptedException {
+    Semaphore inFlight = new Semaphore(Math.max(1, maxInFlight));
+    List<CompletableFuture<CallOutcome<R>>> futures = new ArrayList<>(inputs.size());
+    long intervalNanos = callsPerSecond > 0 ? (long) (1_000_000_000d / callsPerSecond) : 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < inputs.size(); i++) {
+      T input = inputs.get(i);
+      long waitNanos;
+      while (intervalNanos > 0 && (waitNanos = start + i * intervalNanos - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(waitNanos);
+      }
+      inFlight.acquire();
+      futures.add(CompletableFuture.supplyAsync(() -> invoke(input, call), executor)
+              .whenComplete((outcome, error) -> inFlight.release()));
+    }
+    List<CallOutcome<R>> outcomes = new ArrayList<>(futures.size());
+    for (CompletableFuture<CallOutcome<R>> future : futures) {
+      outcomes.add(future.join());
+    }
+    return outcomes;
+  }
+
+  private <T, R> CallOutcome<R> invoke(T input, Function<T, R> call) {
+    long start = System.nanoTime();
+    try {
+      R result = call.apply(input);
+      return CallOutcome.success(result, System.nanoTime() - start);
+    } catch (RuntimeException e) {
+      return CallOutcome.failure(e, System.nanoTime() - start);
+    }
+  }
+
+  public static class CallOutcome<R> {
+    private final R result;
+    private final Exception error;
+    private final long latencyNanos;
+
+    private CallOutcome(R result, Exception error, long latencyNanos) {
+      this.result = result;
+      this.error = error;
+      this.latencyNanos = latencyNanos;
+    }
+
+    static <R> CallOutcome<R> success(R result, long latencyNanos) {
+      return new CallOutcome<>(result, null, latencyNanos);
+    }
+
+    static <R> CallOutcome<R> failure(Exception error, long latencyNanos) {
+      return new CallOutcome<>(null, error, latencyNanos);
+    }
+
+    public boolean isSuccess() {
+      return error == null;
+    }
+
+    public R getResult() {
+      return result;
+    }
+
+    public Exception getError() {
+      return error;
+    }
+
+    public long getLatencyNanos() {
+      return latencyNanos;
+    }
+  }
+}
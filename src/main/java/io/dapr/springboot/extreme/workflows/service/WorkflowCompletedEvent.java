@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link WorkflowCompletionNotifier} once the runtime reports a ScenarioWorkflow instance as COMPLETED.
+ * Lets services release per-instance state without polling the workflow runtime.
+ */
+public class WorkflowCompletedEvent {
+
+  private final String instanceId;
+  private final PaymentRequest paymentRequest;
+  private final Instant createdAt;
+  private final Instant lastUpdatedAt;
+
+  public WorkflowCompletedEvent(String instanceId, PaymentRequest paymentRequest) {
+    this(instanceId, paymentRequest, null, null);
+  }
+
+  public WorkflowCompletedEvent(String instanceId, PaymentRequest paymentRequest, Instant createdAt,
+                                Instant lastUpdatedAt) {
+    this.instanceId = instanceId;
+    this.paymentRequest = paymentRequest;
+    this.createdAt = createdAt;
+    this.lastUpdatedAt = lastUpdatedAt;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  /**
+   * @return output of the instance
+   */
+  public PaymentRequest getPaymentRequest() {
+    return paymentRequest;
+  }
+
+  /**
+   * @return creation time of the instance as reported by the runtime, null if unknown
+   */
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * @return completion time of the instance as reported by the runtime, null if unknown
+   */
+  public Instant getLastUpdatedAt() {
+    return lastUpdatedAt;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowCompletedEvent{" +
+            "instanceId='" + instanceId + '\'' +
+            '}';
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+
+/**
+ * Published by ScenarioWorkflow, once and outside of replays, after it called ctx.complete. The completion is not
+ * persisted yet at that point, {@link WorkflowCompletionNotifier} turns it into a {@link WorkflowCompletedEvent}
+ * once the runtime reports the instance as completed.
+ */
+public class WorkflowCompletingEvent {
+
+  private final String instanceId;
+  private final PaymentRequest paymentRequest;
+
+  public WorkflowCompletingEvent(String instanceId, PaymentRequest paymentRequest) {
+    this.instanceId = instanceId;
+    this.paymentRequest = paymentRequest;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  /**
+   * @return output of the instance
+   */
+  public PaymentRequest getPaymentRequest() {
+    return paymentRequest;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkflowCompletingEvent{" +
+            "instanceId='" + instanceId + '\'' +
+            '}';
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link WorkflowCompletedEvent} of an instance once the workflow runtime persisted its completion,
+ * so listeners releasing admission slots, awaits or retention entries never act on a completion that didn't
+ * happen.
+ *
+ * <p>Completions are confirmed with the coalesced status lookups of {@link WorkflowStatusService}: the first check
+ * runs confirm-delay after the workflow function returned, and the delay doubles until the runtime reports the
+ * instance COMPLETED or confirm-timeout is over. Nothing waits on a workflow client thread in between, the checks
+ * are scheduled, and the events published, on the single completion thread.</p>
+ */
+@Component
+public class WorkflowCompletionNotifier {
+
+  private static final Set<String> FAILED_STATUSES = Set.of("FAILED", "TERMINATED", "CANCELED");
+
+  private final Logger logger = LoggerFactory.getLogger(WorkflowCompletionNotifier.class);
+
+  private final WorkflowStatusService workflowStatusService;
+
+  private final ScheduledExecutorService completionExecutor;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Duration confirmDelay;
+
+  private final Duration confirmTimeout;
+
+  private final Counter unconfirmed;
+
+  public WorkflowCompletionNotifier(WorkflowStatusService workflowStatusService,
+                                    @Qualifier("completionExecutorService") ScheduledExecutorService completionExecutor,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${workflows.completion.confirm-delay:PT0.25S}") Duration confirmDelay,
+                                    @Value("${workflows.completion.confirm-timeout:PT30S}") Duration confirmTimeout,
+                                    MeterRegistry registry) {
+    this.workflowStatusService = workflowStatusService;
+    this.completionExecutor = completionExecutor;
+    this.eventPublisher = eventPublisher;
+    this.confirmDelay = confirmDelay;
+    this.confirmTimeout = confirmTimeout;
+    this.unconfirmed = Counter.builder("workflow.completion.unconfirmed")
+            .description("Instances that called complete but were not reported COMPLETED by the runtime")
+            .register(registry);
+  }
+
+  @EventListener
+  public void onWorkflowCompleting(WorkflowCompletingEvent event) {
+    schedule(event, System.nanoTime() + confirmTimeout.toNanos(), Math.max(1, confirmDelay.toNanos()));
+  }
+
+  private void schedule(WorkflowCompletingEvent event, long deadline, long delayNanos) {
+    try {
+      completionExecutor.schedule(() -> check(event, deadline, delayNanos), delayNanos, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      // Shutting down
+      unconfirmed.increment();
+    }
+  }
+
+  private void check(WorkflowCompletingEvent event, long deadline, long delayNanos) {
+    String instanceId = event.getInstanceId();
+    workflowStatusService.getStatusAsync(instanceId, false).whenCompleteAsync((status, error) -> {
+      if (error == null && status != null && "COMPLETED".equals(status.getRuntimeStatus())) {
+        eventPublisher.publishEvent(new WorkflowCompletedEvent(instanceId, event.getPaymentRequest(),
+                status.getCreatedAt(), status.getLastUpdatedAt()));
+        return;
+      }
+      if (error == null && status != null && FAILED_STATUSES.contains(status.getRuntimeStatus())) {
+        logger.warn("Instance {} completed its workflow function but is {}", instanceId, status.getRuntimeStatus());
+        unconfirmed.increment();
+        return;
+      }
+      long remainingNanos = deadline - System.nanoTime();
+      if (remainingNanos <= 0) {
+        logger.warn("Completion of instance {} not confirmed within {}, last status {}", instanceId, confirmTimeout,
+                describe(status), error);
+        unconfirmed.increment();
+        return;
+      }
+      schedule(event, deadline, Math.min(delayNanos * 2, remainingNanos));
+    }, completionExecutor);
+  }
+
+  private static String describe(WorkflowStatus status) {
+    return status != null ? status.getRuntimeStatus() : "unknown";
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowCompletion;
+import io.dapr.springboot.extreme.workflows.model.WorkflowStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lets many clients wait for workflow instances to finish without each of them polling the sidecar.
+ *
+ * <p>All the waiters of an instance share one future. It is completed by the WorkflowCompletedEvent when the
+ * instance runs on this node. A slow periodic sweep, every workflows.await.sweep-interval, is only the fallback
+ * for instances running on other nodes and for failed or terminated ones: it looks up every awaited instance
+ * through the cached and coalesced {@link WorkflowStatusService}, on the workflow client threads, without
+ * blocking the scheduler. Status lookups are asynchronous all the way, no workflow client thread ever waits for
+ * another one. The number of waiters is bounded by workflows.await.max-waiters.</p>
+ */
+@Service
+public class WorkflowCompletionService {
+
+  private static final Set<String> TERMINAL_STATUSES = Set.of("COMPLETED", "FAILED", "TERMINATED", "CANCELED");
+
+  private final Map<String, AwaitedInstance> awaited = new ConcurrentHashMap<>();
+
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  private final WorkflowStatusService workflowStatusService;
+
+  private final int maxWaiters;
+
+  private final Counter rejected;
+
+  public WorkflowCompletionService(WorkflowStatusService workflowStatusService,
+                                   @Value("${workflows.await.max-waiters:10000}") int maxWaiters,
+                                   MeterRegistry registry) {
+    this.workflowStatusService = workflowStatusService;
+    this.maxWaiters = maxWaiters;
+    Gauge.builder("workflow.await.waiters", waiters, AtomicInteger::get)
+            .description("Requests waiting for a workflow instance to finish")
+            .register(registry);
+    Gauge.builder("workflow.await.instances", awaited, Map::size)
+            .description("Workflow instances with at least one waiter")
+            .register(registry);
+    this.rejected = Counter.builder("workflow.await.rejected")
+            .description("Wait requests rejected because of too many waiters")
+            .register(registry);
+  }
+
+  /**
+   * Waits for the instance to reach a terminal status.
+   *
+   * @return a future completed when the instance finishes, or with finished=false after the timeout
+   * @throws AdmissionRejectedException if workflows.await.max-waiters requests are already waiting
+   */
+  public CompletableFuture<WorkflowCompletion> awaitCompletion(String instanceId, Duration timeout) {
+    if (waiters.incrementAndGet() > maxWaiters) {
+      waiters.decrementAndGet();
+      rejected.increment();
+      throw new AdmissionRejectedException("Too many requests waiting for workflows, limit is " + maxWaiters,
+              Duration.ofSeconds(1));
+    }
+    long start = System.nanoTime();
+    boolean[] created = new boolean[1];
+    AwaitedInstance instance = awaited.compute(instanceId, (id, existing) -> {
+      AwaitedInstance awaitedInstance = existing;
+      if (awaitedInstance == null) {
+        awaitedInstance = new AwaitedInstance();
+        created[0] = true;
+      }
+      awaitedInstance.waiters++;
+      return awaitedInstance;
+    });
+    if (created[0]) {
+      // The instance may already be finished, don't wait for the next sweep to find out
+      workflowStatusService.getStatusAsync(instanceId, false)
+              .thenAccept(status -> completeIfFinished(instanceId, status));
+    }
+    return instance.completion
+            .thenApply(completion -> new WorkflowCompletion(completion.getInstanceId(),
+                    completion.getRuntimeStatus(), true, completion.getEndToEndMillis()))
+            .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .thenCompose(completion -> completion != null ? CompletableFuture.completedFuture(completion)
+                    : timedOut(instanceId))
+            .thenApply(completion -> {
+              completion.setWaitedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+              return completion;
+            })
+            .whenComplete((completion, error) -> leave(instanceId));
+  }
+
+  @EventListener
+  public void onWorkflowCompleted(WorkflowCompletedEvent event) {
+    AwaitedInstance instance = awaited.get(event.getInstanceId());
+    if (instance == null) {
+      return;
+    }
+    instance.completion.complete(new WorkflowCompletion(event.getInstanceId(), "COMPLETED", true,
+            endToEndMillis(event.getCreatedAt(), event.getLastUpdatedAt())));
+  }
+
+  /**
+   * Fallback for the awaited instances no WorkflowCompletedEvent will release. Only starts the lookups, the
+   * instances are completed as their statuses come back.
+   */
+  @Scheduled(fixedDelayString = "${workflows.await.sweep-interval:PT30S}")
+  public void sweep() {
+    for (String instanceId : awaited.keySet()) {
+      workflowStatusService.getStatusAsync(instanceId, false)
+              .thenAccept(status -> completeIfFinished(instanceId, status));
+    }
+  }
+
+  private void completeIfFinished(String instanceId, WorkflowStatus status) {
+    AwaitedInstance instance = awaited.get(instanceId);
+    if (instance == null || status == null || !TERMINAL_STATUSES.contains(status.getRuntimeStatus())) {
+      return;
+    }
+    instance.completion.complete(new WorkflowCompletion(instanceId, status.getRuntimeStatus(), true,
+            endToEndMillis(status.getCreatedAt(), status.getLastUpdatedAt())));
+  }
+
+  private CompletableFuture<WorkflowCompletion> timedOut(String instanceId) {
+    return workflowStatusService.getStatusAsync(instanceId, false)
+            .thenApply(status -> new WorkflowCompletion(instanceId, status != null ? status.getRuntimeStatus() : null,
+                    false, null));
+  }
+
+  /**
+   * End-to-end latency as recorded by the runtime, both timestamps come from the same clock.
+   */
+  private static Long endToEndMillis(Instant createdAt, Instant lastUpdatedAt) {
+    return createdAt != null && lastUpdatedAt != null ? Duration.between(createdAt, lastUpdatedAt).toMillis() : null;
+  }
+
+  private void leave(String instanceId) {
+    waiters.decrementAndGet();
+    awaited.computeIfPresent(instanceId, (id, instance) -> --instance.waiters == 0 ? null : instance);
+  }
+
+  private static final class AwaitedInstance {
+
+    private final CompletableFuture<WorkflowCompletion> completion = new CompletableFuture<>();
+
+    /**
+     * Only updated inside ConcurrentHashMap.compute for the instance id.
+     */
+    private int waiters;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.durabletask.Task;
+import io.dapr.durabletask.TaskFailedException;
+import io.dapr.workflows.WorkflowContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records workflow and callActivity durations using orchestration time.
+ *
+ * <p>Workflow beans are singletons shared by every running instance, so a start time can't be kept
+ * in a field. Instead, a workflow reads {@link WorkflowContext#getCurrentInstant()} into a local
+ * variable when a step starts, and calls {@link #record} when it ends. Orchestration time comes
+ * from the workflow history, so every replay, even after an application restart, sees the same
+ * start instant, and nothing has to be stored or evicted per instance. Durations are only
+ * recorded once, when the step completes outside of a replay.</p>
+ */
+@Component
+public class WorkflowMetrics {
+
+  private final MeterRegistry registry;
+
+  public WorkflowMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Records the orchestration time elapsed since start into the timer with the given name and tags.
+   *
+   * @param ctx       workflow context of the running instance
+   * @param timerName name of the timer
+   * @param start     value of ctx.getCurrentInstant() when the measured step started
+   * @param tags      timer tags as key/value pairs
+   */
+  public void record(WorkflowContext ctx, String timerName, Instant start, String... tags) {
+    if (ctx.isReplaying()) {
+      return;
+    }
+    Duration elapsed = Duration.between(start, ctx.getCurrentInstant());
+    registry.timer(timerName, tags).record(elapsed.isNegative() ? Duration.ZERO : elapsed);
+  }
+
+  /**
+   * Starts tracking one episode: a run of the workflow function that replays the history of the
+   * current execution and then processes the new events.
+   */
+  public Episode episode(WorkflowContext ctx, String scenario) {
+    return new Episode(ctx, scenario);
+  }
+
+  /**
+   * Counts the durable tasks awaited through it, which is proportional to the history length of the
+   * execution, and records how long the episode spent replaying before it reached new events.
+   * Lives in a local variable of the workflow function, one per episode.
+   */
+  public class Episode {
+
+    private final WorkflowContext ctx;
+    private final String scenario;
+    private final long startNanos = System.nanoTime();
+    private boolean replayRecorded = false;
+    private int durableTasks = 0;
+
+    private Episode(WorkflowContext ctx, String scenario) {
+      this.ctx = ctx;
+      this.scenario = scenario;
+    }
+
+    /**
+     * Awaits the task, counting it as part of the history. Timed out and failed tasks count as well.
+     */
+    public <V> V await(Task<V> task) {
+      try {
+        V result = task.await();
+        taskCompleted();
+        return result;
+      } catch (TaskFailedException e) {
+        taskCompleted();
+        throw e;
+      }
+    }
+
+    private void taskCompleted() {
+      durableTasks++;
+      if (!replayRecorded && !ctx.isReplaying()) {
+        replayRecorded = true;
+        registry.timer("workflow.replay", "scenario", scenario)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    /**
+     * Records the history length of the execution, call it right before complete or continueAsNew.
+     */
+    public void finished() {
+      if (ctx.isReplaying()) {
+        return;
+      }
+      DistributionSummary.builder("workflow.history.length")
+              .description("Durable tasks (activities, timers, events, child workflows) in the history of one execution")
+              .baseUnit("tasks")
+              .tags("scenario", scenario)
+              .register(registry)
+              .record(durableTasks);
+    }
+  }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.ScenarioWorkflow;
+import io.dapr.springboot.extreme.workflows.model.PurgeResult;
+import io.dapr.springboot.extreme.workflows.model.WorkflowProgress;
+import io.dapr.springboot.extreme.workflows.service.WorkflowClientExecutor.CallOutcome;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purges finished workflow instances from the actor state store, so it doesn't grow with every run.
+ *
+ * <p>With workflows.retention.enabled, instances that complete on this node, together with their child
+ * workflows, and instances terminated through /delete, are queued in the order they finished. A scheduled
+ * sweep purges the ones older than workflows.retention.max-age, in batches of workflows.retention.batch-size
+ * issued with at most workflows.retention.concurrency calls in flight and at most workflows.retention.rate
+ * calls per second, so purging doesn't compete with running workflows for the sidecar and the state store.
+ * The purges run on their own single thread, not on the scheduler shared with the other periodic jobs. Instances
+ * whose purge failed are retried after workflows.retention.retry-backoff, doubled on every attempt, up to
+ * workflows.retention.max-attempts attempts.</p>
+ *
+ * <p>The queue is in memory and local to this node: it only holds instances that finished here since the
+ * application started, and it is lost on restart. Instances that finished before a restart, or on another node,
+ * are never purged automatically, they can be purged through {@link #purge}.</p>
+ */
+@Service
+public class WorkflowRetentionService {
+
+  private final Logger logger = LoggerFactory.getLogger(WorkflowRetentionService.class);
+
+  private final Queue<RetainedInstance> retained = new ConcurrentLinkedQueue<>();
+
+  private final Queue<FailedPurge> retries = new ConcurrentLinkedQueue<>();
+
+  private final AtomicBoolean purging = new AtomicBoolean();
+
+  private final AtomicLong retainedCount = new AtomicLong();
+
+  private final DaprWorkflowClient daprWorkflowClient;
+
+  private final WorkflowClientExecutor workflowClientExecutor;
+
+  private final ExecutorService retentionExecutor;
+
+  private final MeterRegistry registry;
+
+  private final boolean enabled;
+
+  private final Duration maxAge;
+
+  private final int batchSize;
+
+  private final int concurrency;
+
+  private final double rate;
+
+  private final Duration retryBackoff;
+
+  private final int maxAttempts;
+
+  private final int clientThreads;
+
+  public WorkflowRetentionService(DaprWorkflowClient daprWorkflowClient,
+                                  WorkflowClientExecutor workflowClientExecutor,
+                                  @Qualifier("retentionExecutorService") ExecutorService retentionExecutor,
+                                  MeterRegistry registry,
+                                  @Value("${workflows.retention.enabled:false}") boolean enabled,
+                                  @Value("${workflows.retention.max-age:PT1H}") Duration maxAge,
+                                  @Value("${workflows.retention.batch-size:500}") int batchSize,
+                                  @Value("${workflows.retention.concurrency:8}") int concurrency,
+                                  @Value("${workflows.retention.rate:200}") double rate,
+                                  @Value("${workflows.retention.retry-backoff:PT1M}") Duration retryBackoff,
+                                  @Value("${workflows.retention.max-attempts:5}") int maxAttempts,
+                                  @Value("${workflows.client.threads:64}") int clientThreads) {
+    this.daprWorkflowClient = daprWorkflowClient;
+    this.workflowClientExecutor = workflowClientExecutor;
+    this.retentionExecutor = retentionExecutor;
+    this.registry = registry;
+    this.enabled = enabled;
+    this.maxAge = maxAge;
+    this.batchSize = batchSize;
+    this.concurrency = Math.min(concurrency, clientThreads);
+    this.rate = rate;
+    this.retryBackoff = retryBackoff;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.clientThreads = clientThreads;
+    Gauge.builder("workflow.retention.retained", retainedCount, AtomicLong::get)
+            .description("Finished workflow instances, children included, still in the state store waiting to be purged")
+            .register(registry);
+    Gauge.builder("workflow.retention.oldest.age", this, WorkflowRetentionService::oldestAgeSeconds)
+            .description("Time since the oldest instance waiting to be purged finished")
+            .baseUnit("seconds")
+            .register(registry);
+  }
+
+  @EventListener
+  public void onWorkflowCompleted(WorkflowCompletedEvent event) {
+    WorkflowProgress progress = event.getPaymentRequest().getProgress();
+    int children = progress != null ? progress.getChildWorkflows() : 0;
+    List<String> instanceIds = new ArrayList<>(children + 1);
+    for (int i = 0; i < children; i++) {
+      instanceIds.add(ScenarioWorkflow.childInstanceId(event.getInstanceId(), i));
+    }
+    instanceIds.add(event.getInstanceId());
+    retain(instanceIds);
+  }
+
+  /**
+   * Queues instances that finished now, for instances that don't report completion, like terminated ones.
+   */
+  public void retain(List<String> instanceIds) {
+    if (!enabled) {
+      return;
+    }
+    retained.add(new RetainedInstance(instanceIds, System.nanoTime()));
+    retainedCount.addAndGet(instanceIds.size());
+  }
+
+  /**
+   * Hands the purge of the instances that finished more than max-age ago, and of the failed purges due for a
+   * retry, to the retention thread. Skipped while the previous purge is still running.
+   */
+  @Scheduled(fixedDelayString = "${workflows.retention.interval:PT1M}")
+  public void purgeExpired() {
+    if (!enabled || !purging.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      retentionExecutor.execute(() -> {
+        try {
+          purgeDue();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+          logger.warn("Retention purge failed", e);
+        } finally {
+          purging.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      purging.set(false);
+    }
+  }
+
+  /**
+   * Purges the failed purges due for a retry, then the expired instances, batch after batch.
+   */
+  private void purgeDue() throws InterruptedException {
+    long now = System.nanoTime();
+    // Instance id -> purge attempts that already failed
+    Map<String, Integer> batch = new LinkedHashMap<>();
+    Iterator<FailedPurge> failed = retries.iterator();
+    while (failed.hasNext()) {
+      FailedPurge retry = failed.next();
+      if (retry.retryAtNanos - now <= 0) {
+        failed.remove();
+        retainedCount.decrementAndGet();
+        batch.put(retry.instanceId, retry.attempts);
+        if (batch.size() >= batchSize) {
+          purgeRetained(batch);
+          batch = new LinkedHashMap<>();
+        }
+      }
+    }
+    long expiredBefore = now - maxAge.toNanos();
+    RetainedInstance head;
+    while ((head = retained.peek()) != null && head.finishedAtNanos - expiredBefore <= 0) {
+      retained.poll();
+      retainedCount.addAndGet(-head.instanceIds.size());
+      for (String instanceId : head.instanceIds) {
+        batch.putIfAbsent(instanceId, 0);
+      }
+      if (batch.size() >= batchSize) {
+        purgeRetained(batch);
+        batch = new LinkedHashMap<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      purgeRetained(batch);
+    }
+  }
+
+  /**
+   * Purges the batch and queues the instances whose purge failed again, with an exponential backoff.
+   */
+  private void purgeRetained(Map<String, Integer> batch) throws InterruptedException {
+    PurgeResult result = purge(new ArrayList<>(batch.keySet()), concurrency, rate, "retention");
+    long now = System.nanoTime();
+    for (String instanceId : result.getErrors().keySet()) {
+      int attempts = batch.get(instanceId) + 1;
+      if (attempts >= maxAttempts) {
+        logger.warn("Giving up purging instance {} after {} attempts: {}", instanceId, attempts,
+                result.getErrors().get(instanceId));
+        registry.counter("workflow.purged", "trigger", "retention", "result", "abandoned").increment();
+        continue;
+      }
+      retries.add(new FailedPurge(instanceId, attempts, now + (retryBackoff.toNanos() << (attempts - 1))));
+      retainedCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Purges the given instances, which must have finished, with the configured parallelism and rate by default.
+   *
+   * @param concurrency max number of purge calls in flight, defaults to workflows.retention.concurrency
+   * @param callsPerSecond optional pacing, 0 for none, defaults to workflows.retention.rate
+   * @throws IllegalArgumentException if concurrency is not between 1 and workflows.client.threads, or the rate is
+   *                                  negative
+   */
+  public PurgeResult purge(List<String> instanceIds, Integer concurrency, Double callsPerSecond)
+          throws InterruptedException {
+    if (concurrency != null && (concurrency < 1 || concurrency > clientThreads)) {
+      throw new IllegalArgumentException("concurrency must be between 1 and workflows.client.threads ("
+              + clientThreads + "), got " + concurrency);
+    }
+    if (callsPerSecond != null && !(callsPerSecond >= 0 && Double.isFinite(callsPerSecond))) {
+      throw new IllegalArgumentException("rate must be 0 or a positive number of purges per second, got "
+              + callsPerSecond);
+    }
+    return purge(instanceIds, concurrency != null ? concurrency : this.concurrency,
+            callsPerSecond != null ? callsPerSecond : rate, "request");
+  }
+
+  private PurgeResult purge(List<String> instanceIds, int concurrency, double callsPerSecond, String trigger)
+          throws InterruptedException {
+    long start = System.nanoTime();
+    List<CallOutcome<Boolean>> outcomes = workflowClientExecutor.invokeAll(instanceIds, concurrency, callsPerSecond,
+            daprWorkflowClient::purgeInstance);
+    long elapsedNanos = System.nanoTime() - start;
+
+    PurgeResult result = new PurgeResult();
+    result.setRequested(instanceIds.size());
+    for (int i = 0; i < outcomes.size(); i++) {
+      CallOutcome<Boolean> outcome = outcomes.get(i);
+      if (!outcome.isSuccess()) {
+        result.getErrors().put(instanceIds.get(i), outcome.getError().getMessage());
+      } else if (Boolean.TRUE.equals(outcome.getResult())) {
+        result.setPurged(result.getPurged() + 1);
+      } else {
+        result.setNotFound(result.getNotFound() + 1);
+      }
+    }
+    result.setFailed(result.getErrors().size());
+    result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    result.setPurgesPerSecond(elapsedNanos == 0 ? 0 : result.getPurged() * 1_000_000_000d / elapsedNanos);
+    registry.counter("workflow.purged", "trigger", trigger, "result", "purged").increment(result.getPurged());
+    registry.counter("workflow.purged", "trigger", trigger, "result", "not-found").increment(result.getNotFound());
+    registry.counter("workflow.purged", "trigger", trigger, "result", "failed").increment(result.getFailed());
+
+    logger.info("Purged {} workflow instances ({} not found, {} failed) in {} ms, {} purges/s.",
+            result.getPurged(), result.getNotFound(), result.getFailed(), result.getElapsedMillis(),
+            String.format("%.1f", result.getPurgesPerSecond()));
+    return result;
+  }
+
+  private double oldestAgeSeconds() {
+    RetainedInstance oldest = retained.peek();
+    return oldest == null ? 0 : (System.nanoTime() - oldest.finishedAtNanos) / 1_000_000_000d;
+  }
+
+  private static final class FailedPurge {
+
+    private final String instanceId;
+    private final int attempts;
+    private final long retryAtNanos;
+
+    private FailedPurge(String instanceId, int attempts, long retryAtNanos) {
+      this.instanceId = instanceId;
+      this.attempts = attempts;
+      this.retryAtNanos = retryAtNanos;
+    }
+  }
+
+  private static final class RetainedInstance {
+
+    private final List<String> instanceIds;
+    private final long finishedAtNanos;
+
+    private RetainedInstance(List<String> instanceIds, long finishedAtNanos) {
+      this.instanceIds = instanceIds;
+      this.finishedAtNanos = finishedAtNanos;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.config.WorkflowScenariosProperties;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Resolves which {@link WorkflowScenario} a ScenarioWorkflow instance runs.
+ */
+@Service
+public class WorkflowScenarioService {
+
+  private final WorkflowScenariosProperties scenariosProperties;
+
+  public WorkflowScenarioService(WorkflowScenariosProperties scenariosProperties) {
+    this.scenariosProperties = scenariosProperties;
+  }
+
+  /**
+   * A scenario descriptor in the request wins, otherwise the named scenario, otherwise the configured
+   * default scenario.
+   *
+   * @param paymentRequest request that may carry its own scenario descriptor
+   * @param scenarioName   optional name of a configured scenario
+   * @return a copy of the scenario to run, always with a name
+   */
+  public WorkflowScenario resolve(PaymentRequest paymentRequest, String scenarioName) {
+    if (paymentRequest.getScenario() != null) {
+      WorkflowScenario scenario = new WorkflowScenario(paymentRequest.getScenario());
+      if (scenario.getName() == null) {
+        scenario.setName("custom");
+      }
+      return scenario;
+    }
+    return getScenario(scenarioName != null ? scenarioName : scenariosProperties.getDefaultScenario());
+  }
+
+  public WorkflowScenario getScenario(String scenarioName) {
+    WorkflowScenario scenario = scenariosProperties.getScenarios().get(scenarioName);
+    if (scenario == null) {
+      throw new IllegalArgumentException("Unknown scenario " + scenarioName + ", available scenarios: "
+              + scenariosProperties.getScenarios().keySet());
+    }
+    WorkflowScenario copy = new WorkflowScenario(scenario);
+    copy.setName(scenarioName);
+    return copy;
+  }
+
+  public Map<String, WorkflowScenario> getScenarios() {
+    return scenariosProperties.getScenarios();
+  }
+}
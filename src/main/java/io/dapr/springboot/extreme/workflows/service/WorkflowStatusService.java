@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowStatus;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads workflow instance states through a short lived cache, so that many clients polling the same
+ * instances cost one sidecar call per instance and TTL.
+ *
+ * <p>Concurrent lookups of an instance that is not cached share the same in-flight getInstanceState call.
+ * Unknown instances are cached too. A status fetched with inputs and outputs also serves lookups without them,
+ * but not the other way around.</p>
+ */
+@Service
+public class WorkflowStatusService {
+
+  private final DaprWorkflowClient daprWorkflowClient;
+
+  private final WorkflowClientExecutor workflowClientExecutor;
+
+  private final Duration ttl;
+
+  private final Map<StatusKey, CachedStatus> cache = new ConcurrentHashMap<>();
+
+  private final Map<StatusKey, CompletableFuture<WorkflowStatus>> inFlight = new ConcurrentHashMap<>();
+
+  private final Counter cacheHits;
+
+  private final Counter coalesced;
+
+  private final Counter fetches;
+
+  public WorkflowStatusService(DaprWorkflowClient daprWorkflowClient,
+                               WorkflowClientExecutor workflowClientExecutor,
+                               @Value("${workflows.status.cache-ttl:PT1S}") Duration ttl,
+                               MeterRegistry registry) {
+    this.daprWorkflowClient = daprWorkflowClient;
+    this.workflowClientExecutor = workflowClientExecutor;
+    this.ttl = ttl;
+    this.cacheHits = lookups(registry, "cached");
+    this.coalesced = lookups(registry, "coalesced");
+    this.fetches = lookups(registry, "fetched");
+  }
+
+  private static Counter lookups(MeterRegistry registry, String result) {
+    return Counter.builder("workflow.status.lookups")
+            .description("Workflow status lookups by how they were answered")
+            .tags("result", result)
+            .register(registry);
+  }
+
+  /**
+   * @param includeIO whether to fetch the serialized input and output of the instance
+   * @return the status of the instance, null if it doesn't exist
+   */
+  public WorkflowStatus getStatus(String instanceId, boolean includeIO) {
+    return getStatusAsync(instanceId, includeIO).join();
+  }
+
+  /**
+   * Looks up all the instances concurrently.
+   *
+   * @return the status of every instance, null for the ones that don't exist, in the order of the ids
+   */
+  public Map<String, WorkflowStatus> getStatuses(List<String> instanceIds, boolean includeIO) {
+    Map<String, CompletableFuture<WorkflowStatus>> futures = new LinkedHashMap<>();
+    for (String instanceId : instanceIds) {
+      futures.putIfAbsent(instanceId, getStatusAsync(instanceId, includeIO));
+    }
+    Map<String, WorkflowStatus> statuses = new LinkedHashMap<>();
+    futures.forEach((instanceId, future) -> statuses.put(instanceId, future.join()));
+    return statuses;
+  }
+
+  /**
+   * Same as {@link #getStatus(String, boolean)} without blocking the caller: the future completes on a workflow
+   * client thread, or right away for cached statuses.
+   */
+  public CompletableFuture<WorkflowStatus> getStatusAsync(String instanceId, boolean includeIO) {
+    long now = System.nanoTime();
+    StatusKey key = new StatusKey(instanceId, includeIO);
+    CachedStatus cached = cache.get(key);
+    if (cached == null && !includeIO) {
+      cached = cache.get(new StatusKey(instanceId, true));
+    }
+    if (cached != null && !cached.isExpired(now)) {
+      cacheHits.increment();
+      return CompletableFuture.completedFuture(cached.status);
+    }
+    CompletableFuture<WorkflowStatus> fetch = new CompletableFuture<>();
+    CompletableFuture<WorkflowStatus> existing = inFlight.putIfAbsent(key, fetch);
+    if (existing != null) {
+      coalesced.increment();
+      return existing;
+    }
+    fetches.increment();
+    workflowClientExecutor.submit(() -> toStatus(daprWorkflowClient.getInstanceState(instanceId, includeIO), includeIO))
+            .whenComplete((status, error) -> {
+              // Cache first: a lookup arriving between the two steps finds either the in-flight call or the
+              // cached status, never neither, so it can't start a second getInstanceState call
+              if (error == null) {
+                cache.put(key, new CachedStatus(status, System.nanoTime() + ttl.toNanos()));
+              }
+              inFlight.remove(key, fetch);
+              if (error == null) {
+                fetch.complete(status);
+              } else {
+                fetch.completeExceptionally(error);
+              }
+            });
+    return fetch;
+  }
+
+  @Scheduled(fixedDelayString = "${workflows.status.eviction-interval:PT10S}")
+  public void evict() {
+    long now = System.nanoTime();
+    cache.values().removeIf(cached -> cached.isExpired(now));
+  }
+
+  private static WorkflowStatus toStatus(WorkflowInstanceStatus instanceState, boolean includeIO) {
+    if (instanceState == null || !instanceState.isInstanceFound()) {
+      return null;
+    }
+    WorkflowStatus status = new WorkflowStatus();
+    status.setInstanceId(instanceState.getInstanceId());
+    status.setName(instanceState.getName());
+    status.setRuntimeStatus(instanceState.getRuntimeStatus().name());
+    status.setCreatedAt(instanceState.getCreatedAt());
+    status.setLastUpdatedAt(instanceState.getLastUpdatedAt());
+    if (includeIO) {
+      status.setSerializedInput(instanceState.getSerializedInput());
+      status.setSerializedOutput(instanceState.getSerializedOutput());
+    }
+    if (instanceState.getFailureDetails() != null) {
+      status.setFailure(instanceState.getFailureDetails().getErrorMessage());
+    }
+    status.setFetchedAt(Instant.now());
+    return status;
+  }
+
+  private static final class StatusKey {
+
+    private final String instanceId;
+    private final boolean includeIO;
+
+    private StatusKey(String instanceId, boolean includeIO) {
+      this.instanceId = instanceId;
+      this.includeIO = includeIO;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof StatusKey)) {
+        return false;
+      }
+      StatusKey other = (StatusKey) o;
+      return includeIO == other.includeIO && instanceId.equals(other.instanceId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(instanceId, includeIO);
+    }
+  }
+
+  private static final class CachedStatus {
+
+    private final WorkflowStatus status;
+    private final long expiresAtNanos;
+
+    private CachedStatus(WorkflowStatus status, long expiresAtNanos) {
+      this.status = status;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+
+    private boolean isExpired(long now) {
+      return now - expiresAtNanos > 0;
+    }
+  }
+}
@@ -127,10 +127,11 @@ public class DaprTestContainersConfig {
 //            .withSchedulerImage(myDaprSchedulerImage)
             .withComponent(new Component("kvstore", "state.redis", "v1",
                     redisProps))
+            // The app subscribes programmatically (bulk subscribe) through /dapr/subscribe
+            .withComponent(new Component("pubsub", "pubsub.in-memory", "v1", Collections.emptyMap()))
             .withConfiguration(new Configuration("daprConfig",
                     new TracingConfigurationSettings("1", true, null,
                             new ZipkinTracingConfigurationSettings("http://zipkin:9411/api/v2/spans")), null))
-            .withSubscription(new Subscription("app", "pubsub", "pubsubTopic", "/asyncpubsub/continue"))
 //  Uncomment if you want to troubleshoot Dapr related problems
             .withDaprLogLevel(DaprLogLevel.DEBUG)
             .withLogConsumer(outputFrame -> System.out.println(outputFrame.getUtf8String()))
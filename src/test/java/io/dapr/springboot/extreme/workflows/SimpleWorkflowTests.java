@@ -15,7 +15,10 @@ package io.dapr.springboot.extreme.workflows;
 
 import io.dapr.client.DaprClient;
 import io.dapr.springboot.DaprAutoConfiguration;
+import io.dapr.springboot.extreme.workflows.model.PaymentItem;
+import io.dapr.springboot.extreme.workflows.model.PaymentItemFailure;
 import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.springboot.extreme.workflows.model.WorkflowScenario;
 import io.dapr.springboot.extreme.workflows.service.ActivityTrackerService;
 import io.dapr.springboot.extreme.workflows.service.RetryLogService;
 import io.dapr.workflows.client.DaprWorkflowClient;
@@ -31,6 +34,7 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static io.restassured.RestAssured.given;
@@ -56,6 +60,9 @@ class SimpleWorkflowTests {
   @Autowired
   private DaprWorkflowClient daprWorkflowClient;
 
+  @Autowired
+  private DaprClient daprClient;
+
   @BeforeEach
   void setUp() {
     RestAssured.baseURI = "http://localhost:" + 8080;
@@ -66,12 +73,10 @@ class SimpleWorkflowTests {
   @Test
   void testMultiRetryTimeoutsWorkflows() throws InterruptedException, IOException {
 
-    retryLogService.resetRetryCounter();
-    activityTrackerService.clearExecutedActivities();
-
     PaymentRequest paymentRequest = new PaymentRequest("123", "salaboy", 1);
 
     PaymentRequest paymentRequestResult = given().contentType(ContentType.JSON)
+        .queryParam("scenario", "v2")
         .body(paymentRequest)
         .when()
         .post("/start")
@@ -91,16 +96,8 @@ class SimpleWorkflowTests {
             .then()
             .statusCode(200);
 
-    await().atMost(Duration.ofSeconds(30))
-            .pollDelay(500, TimeUnit.MILLISECONDS)
-            .pollInterval(500, TimeUnit.MILLISECONDS)
-            .until(() -> {
-                    System.out.println("Retry count so far: " + retryLogService.getRetryCounter());
-                    return retryLogService.getRetryCounter() == 10;
-            });
-
-    // Check that the workflow completed successfully
-    await().atMost(Duration.ofSeconds(20))
+    // Check that the workflow completed successfully, after retrying 10 times
+    await().atMost(Duration.ofSeconds(150))
         .pollDelay(500, TimeUnit.MILLISECONDS)
         .pollInterval(500, TimeUnit.MILLISECONDS)
         .until(() -> {
@@ -116,10 +113,17 @@ class SimpleWorkflowTests {
           return paymentRequestResultFromWorkflow != null;
         });
 
-    assertEquals(12, activityTrackerService.getExecutedActivities().size());
-    assertTrue(activityTrackerService.getExecutedActivities().contains(FirstActivity.class.getCanonicalName()));
-    assertTrue(activityTrackerService.getExecutedActivities().contains(RetryActivity.class.getCanonicalName()));
-    assertTrue(activityTrackerService.getExecutedActivities().contains(CompensationActivity.class.getCanonicalName()));
+    PaymentRequest paymentRequestResultFromWorkflow = daprWorkflowClient
+        .getInstanceState(paymentRequestResult.getWorkflowInstanceId(), true)
+        .readOutputAs(PaymentRequest.class);
+    assertEquals(10, paymentRequestResultFromWorkflow.getProgress().getRetryCount());
+
+    List<String> executedActivities = activityTrackerService
+            .getExecutedActivities(paymentRequestResult.getWorkflowInstanceId());
+    assertEquals(12, executedActivities.size());
+    assertTrue(executedActivities.contains(FirstActivity.class.getCanonicalName()));
+    assertTrue(executedActivities.contains(RetryActivity.class.getCanonicalName()));
+    assertTrue(executedActivities.contains(CompensationActivity.class.getCanonicalName()));
 
 
   }
@@ -127,12 +131,10 @@ class SimpleWorkflowTests {
   @Test
   void testMultiRetryWithCompensationWorkflows() throws InterruptedException, IOException {
 
-    retryLogService.resetRetryCounter();
-    activityTrackerService.clearExecutedActivities();
-
     PaymentRequest paymentRequest = new PaymentRequest("123", "salaboy", 1);
 
     PaymentRequest paymentRequestResult = given().contentType(ContentType.JSON)
+            .queryParam("scenario", "v2")
             .body(paymentRequest)
             .when()
             .post("/start")
@@ -155,8 +157,9 @@ class SimpleWorkflowTests {
             .pollDelay(500, TimeUnit.MILLISECONDS)
             .pollInterval(500, TimeUnit.MILLISECONDS)
             .until(() -> {
-              System.out.println("Retry count so far: " + retryLogService.getRetryCounter());
-              return retryLogService.getRetryCounter() == 3;
+              int retries = retryLogService.getRetryCounter(paymentRequestResult.getWorkflowInstanceId());
+              System.out.println("Retry count so far: " + retries);
+              return retries == 3;
             });
 
     System.out.println(">>> Let's send an event");
@@ -186,13 +189,96 @@ class SimpleWorkflowTests {
               return paymentRequestResultFromWorkflow != null;
             });
 
-    System.out.println("Activities executed: " + activityTrackerService.getExecutedActivities());
-    assertEquals(5, activityTrackerService.getExecutedActivities().size());
-    assertTrue(activityTrackerService.getExecutedActivities().contains(FirstActivity.class.getCanonicalName()));
-    assertTrue(activityTrackerService.getExecutedActivities().contains(RetryActivity.class.getCanonicalName()));
-    assertTrue(activityTrackerService.getExecutedActivities().contains(NextActivity.class.getCanonicalName()));
+    List<String> executedActivities = activityTrackerService
+            .getExecutedActivities(paymentRequestResult.getWorkflowInstanceId());
+    System.out.println("Activities executed: " + executedActivities);
+    assertEquals(5, executedActivities.size());
+    assertTrue(executedActivities.contains(FirstActivity.class.getCanonicalName()));
+    assertTrue(executedActivities.contains(RetryActivity.class.getCanonicalName()));
+    assertTrue(executedActivities.contains(NextActivity.class.getCanonicalName()));
+
+
+  }
+
+  @Test
+  void testContinueFromPubSubWorkflows() {
+
+    PaymentRequest paymentRequest = new PaymentRequest("456", "salaboy", 1);
+
+    PaymentRequest paymentRequestResult = given().contentType(ContentType.JSON)
+            .queryParam("scenario", "v3")
+            .body(paymentRequest)
+            .when()
+            .post("/start")
+            .then()
+            .statusCode(200).extract().as(PaymentRequest.class);
+
+    assertFalse(paymentRequestResult.getWorkflowInstanceId().isEmpty());
+
+    await().atMost(Duration.ofSeconds(10))
+            .pollDelay(500, TimeUnit.MILLISECONDS)
+            .pollInterval(500, TimeUnit.MILLISECONDS)
+            .until(() -> retryLogService.getRetryCounter(paymentRequestResult.getWorkflowInstanceId()) >= 1);
+
+    // The message is delivered to /asyncpubsub/continue through bulk subscribe
+    daprClient.publishEvent("pubsub", "pubsubTopic", paymentRequestResult).block();
+
+    await().atMost(Duration.ofSeconds(30))
+            .pollDelay(500, TimeUnit.MILLISECONDS)
+            .pollInterval(500, TimeUnit.MILLISECONDS)
+            .until(() -> {
+              WorkflowInstanceStatus instanceState = daprWorkflowClient
+                      .getInstanceState(paymentRequestResult.getWorkflowInstanceId(), false);
+              return instanceState != null
+                      && instanceState.getRuntimeStatus().equals(WorkflowRuntimeStatus.COMPLETED);
+            });
+
+    List<String> executedActivities = activityTrackerService
+            .getExecutedActivities(paymentRequestResult.getWorkflowInstanceId());
+    assertTrue(executedActivities.contains(NextActivity.class.getCanonicalName()));
+    assertFalse(executedActivities.contains(CompensationActivity.class.getCanonicalName()));
+  }
 
+  @Test
+  void testFanOutKeepsResultsWhenAChildFailsFirst() {
+
+    PaymentRequest paymentRequest = new PaymentRequest("789", "salaboy", 1);
+    paymentRequest.setPaymentItems(List.of(new PaymentItem("test5"), new PaymentItem("item-1"),
+            new PaymentItem("item-2")));
+    // One child at a time, so the failing test5 child is the first, and only, task of the anyOf
+    WorkflowScenario scenario = new WorkflowScenario();
+    scenario.setChildWorkflows(true);
+    scenario.setChildWindow(1);
+    scenario.setRetryIterations(0);
+    paymentRequest.setScenario(scenario);
+
+    PaymentRequest paymentRequestResult = given().contentType(ContentType.JSON)
+            .body(paymentRequest)
+            .when()
+            .post("/start")
+            .then()
+            .statusCode(200).extract().as(PaymentRequest.class);
+
+    await().atMost(Duration.ofSeconds(90))
+            .pollDelay(500, TimeUnit.MILLISECONDS)
+            .pollInterval(500, TimeUnit.MILLISECONDS)
+            .until(() -> {
+              WorkflowInstanceStatus instanceState = daprWorkflowClient
+                      .getInstanceState(paymentRequestResult.getWorkflowInstanceId(), false);
+              return instanceState != null && instanceState.getRuntimeStatus() != WorkflowRuntimeStatus.RUNNING
+                      && instanceState.getRuntimeStatus() != WorkflowRuntimeStatus.PENDING;
+            });
 
+    WorkflowInstanceStatus instanceState = daprWorkflowClient
+            .getInstanceState(paymentRequestResult.getWorkflowInstanceId(), true);
+    assertEquals(WorkflowRuntimeStatus.COMPLETED, instanceState.getRuntimeStatus());
+    PaymentRequest paymentRequestResultFromWorkflow = instanceState.readOutputAs(PaymentRequest.class);
+    List<PaymentItemFailure> failures = paymentRequestResultFromWorkflow.getFailedPaymentItems();
+    assertEquals(1, failures.size());
+    assertEquals(0, failures.get(0).getIndex());
+    assertEquals("test5", failures.get(0).getItemName());
+    assertEquals(3, paymentRequestResultFromWorkflow.getPaymentItems().size());
+    assertEquals(3, paymentRequestResultFromWorkflow.getProgress().getChildWorkflows());
   }
 
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.ActivityExecution;
+import io.dapr.springboot.extreme.workflows.model.ActivityTrace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActivityTrackerServiceTests {
+
+  private static ActivityTrackerService tracker(int capacity, int maxInstances, Duration idleTtl,
+                                                Duration completedTtl) {
+    return new ActivityTrackerService(capacity, maxInstances, idleTtl, completedTtl, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void keepsTheLatestExecutionsInOrder() {
+    ActivityTrackerService tracker = tracker(3, 100, Duration.ofHours(1), Duration.ofHours(1));
+    for (String activity : List.of("a", "b", "c", "d", "e")) {
+      tracker.addExecutedActivity("instance", activity);
+    }
+
+    assertEquals(List.of("c", "d", "e"), tracker.getExecutedActivities("instance"));
+    ActivityTrace trace = tracker.getTrace("instance");
+    assertEquals(5, trace.getTotalActivities());
+    assertEquals(List.of(2L, 3L, 4L),
+            trace.getActivities().stream().map(ActivityExecution::getSequence).collect(Collectors.toList()));
+    assertFalse(trace.isCompleted());
+    assertEquals(List.of(), tracker.getExecutedActivities("unknown"));
+    assertNull(tracker.getTrace("unknown"));
+  }
+
+  @Test
+  void concurrentWritersStayWithinCapacity() throws InterruptedException {
+    ActivityTrackerService tracker = tracker(16, 100, Duration.ofHours(1), Duration.ofHours(1));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch done = new CountDownLatch(8);
+    for (int thread = 0; thread < 8; thread++) {
+      executor.execute(() -> {
+        for (int i = 0; i < 1000; i++) {
+          tracker.addExecutedActivity("instance", "activity");
+        }
+        done.countDown();
+      });
+    }
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    ActivityTrace trace = tracker.getTrace("instance");
+    assertEquals(8000, trace.getTotalActivities());
+    assertEquals(16, trace.getActivities().size());
+    List<Long> sequences = trace.getActivities().stream().map(ActivityExecution::getSequence)
+            .collect(Collectors.toList());
+    List<Long> expected = new ArrayList<>();
+    for (long sequence = 8000 - 16; sequence < 8000; sequence++) {
+      expected.add(sequence);
+    }
+    assertEquals(expected, sequences);
+  }
+
+  @Test
+  void evictsCompletedInstancesAfterCompletedTtl() throws InterruptedException {
+    ActivityTrackerService tracker = tracker(4, 100, Duration.ofHours(1), Duration.ZERO);
+    tracker.addExecutedActivity("completed", "a");
+    tracker.addExecutedActivity("running", "a");
+    tracker.onWorkflowCompleted(new WorkflowCompletedEvent("completed", null));
+    assertTrue(tracker.getTrace("completed").isCompleted());
+
+    Thread.sleep(5);
+    tracker.evict();
+
+    assertEquals(Set.of("running"), tracker.getTrackedInstances());
+  }
+
+  @Test
+  void evictsIdleInstancesAfterIdleTtl() throws InterruptedException {
+    ActivityTrackerService tracker = tracker(4, 100, Duration.ZERO, Duration.ofHours(1));
+    tracker.addExecutedActivity("idle", "a");
+
+    Thread.sleep(5);
+    tracker.evict();
+
+    assertTrue(tracker.getTrackedInstances().isEmpty());
+  }
+
+  @Test
+  void evictsCompletedThenLeastRecentlyActiveInstancesWhenFull() throws InterruptedException {
+    ActivityTrackerService tracker = tracker(4, 10, Duration.ofHours(1), Duration.ofHours(1));
+    for (int i = 0; i < 10; i++) {
+      tracker.addExecutedActivity("instance-" + i, "a");
+      Thread.sleep(2);
+    }
+    tracker.onWorkflowCompleted(new WorkflowCompletedEvent("instance-9", null));
+
+    // The 11th instance exceeds max-instances and brings the tracker back to 90% of it
+    tracker.addExecutedActivity("instance-10", "a");
+
+    assertEquals(9, tracker.getTrackedInstances().size());
+    assertFalse(tracker.getTrackedInstances().contains("instance-9"));
+    assertFalse(tracker.getTrackedInstances().contains("instance-0"));
+    assertTrue(tracker.getTrackedInstances().contains("instance-10"));
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControllerTests {
+
+  private final WorkflowStatusService workflowStatusService = mock(WorkflowStatusService.class);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  private AdmissionController controller(AdmissionController.Mode mode, int limit, int window) {
+    return new AdmissionController(true, mode, limit, 2, 5, Duration.ZERO, Duration.ofHours(1), Duration.ZERO,
+            Duration.ofMillis(100), 0.5, window, workflowStatusService, registry);
+  }
+
+  private double inFlight() {
+    return registry.get("admission.inflight").gauge().value();
+  }
+
+  @Test
+  void fixedLimitRejectsStartsOverTheLimit() {
+    AdmissionController controller = controller(AdmissionController.Mode.FIXED, 2, 10);
+    controller.acquire();
+    controller.tryAcquire();
+
+    assertThrows(AdmissionRejectedException.class, controller::tryAcquire);
+    assertThrows(AdmissionRejectedException.class, controller::acquire);
+
+    controller.release();
+    controller.tryAcquire();
+    assertEquals(2, registry.get("admission.decisions").tag("decision", "rejected").counter().count());
+  }
+
+  @Test
+  void completedInstancesFreeTheirSlot() {
+    AdmissionController controller = controller(AdmissionController.Mode.FIXED, 1, 10);
+    controller.acquire();
+    controller.admitted("instance-1", 0);
+    assertEquals(1, inFlight());
+
+    controller.onWorkflowCompleted(new WorkflowCompletedEvent("instance-1", null));
+
+    assertEquals(0, inFlight());
+    controller.tryAcquire();
+  }
+
+  @Test
+  void sweepFreesFailedAndTerminatedInstances() {
+    AdmissionController controller = controller(AdmissionController.Mode.FIXED, 3, 10);
+    when(workflowStatusService.getStatusAsync("failed", false)).thenReturn(status("FAILED"));
+    when(workflowStatusService.getStatusAsync("terminated", false)).thenReturn(status("TERMINATED"));
+    when(workflowStatusService.getStatusAsync("running", false)).thenReturn(status("RUNNING"));
+    for (String instanceId : new String[]{"failed", "terminated", "running"}) {
+      controller.acquire();
+      controller.admitted(instanceId, 0);
+    }
+    assertThrows(AdmissionRejectedException.class, controller::tryAcquire);
+
+    controller.expire();
+
+    assertEquals(1, inFlight());
+    controller.tryAcquire();
+    controller.tryAcquire();
+    assertThrows(AdmissionRejectedException.class, controller::tryAcquire);
+  }
+
+  @Test
+  void adaptiveLimitGrowsByOneAndIsCutWhenSchedulingSlowsDown() {
+    AdmissionController controller = controller(AdmissionController.Mode.ADAPTIVE, 3, 4);
+    long fast = TimeUnit.MILLISECONDS.toNanos(10);
+    long slow = TimeUnit.MILLISECONDS.toNanos(500);
+
+    window(controller, fast, 4);
+    assertEquals(4, controller.getLimit(), "additive increase after a fast window");
+    window(controller, fast, 4);
+    window(controller, fast, 4);
+    assertEquals(5, controller.getLimit(), "capped at max-limit");
+
+    window(controller, slow, 4);
+    assertEquals(2, controller.getLimit(), "multiplicative decrease after a slow window");
+    window(controller, slow, 4);
+    assertEquals(2, controller.getLimit(), "floored at min-limit");
+
+    window(controller, fast, 3);
+    assertEquals(2, controller.getLimit(), "unchanged until the window is full");
+  }
+
+  private static void window(AdmissionController controller, long schedulingNanos, int samples) {
+    for (int i = 0; i < samples; i++) {
+      controller.admitted("instance-" + i, schedulingNanos);
+    }
+  }
+
+  private static CompletableFuture<WorkflowStatus> status(String runtimeStatus) {
+    WorkflowStatus status = new WorkflowStatus();
+    status.setRuntimeStatus(runtimeStatus);
+    return CompletableFuture.completedFuture(status);
+  }
+}
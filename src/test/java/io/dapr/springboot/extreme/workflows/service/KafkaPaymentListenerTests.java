@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = KafkaPaymentListenerTests.Config.class, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "workflows.kafka.enabled=true",
+        "workflows.kafka.topic=" + KafkaPaymentListenerTests.TOPIC
+})
+@EmbeddedKafka(partitions = 1, topics = KafkaPaymentListenerTests.TOPIC)
+class KafkaPaymentListenerTests {
+
+  static final String TOPIC = "payments-listener-test";
+
+  private static final long TIMEOUT_MILLIS = 20_000;
+
+  @Configuration
+  @ImportAutoConfiguration(KafkaAutoConfiguration.class)
+  @Import(KafkaPaymentListener.class)
+  static class Config {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    WorkflowClientExecutor workflowClientExecutor() {
+      return new WorkflowClientExecutor(Executors.newFixedThreadPool(4));
+    }
+  }
+
+  @MockitoBean
+  private PaymentWorkflowService paymentWorkflowService;
+
+  @Autowired
+  private KafkaTemplate<String, PaymentRequest> kafkaTemplate;
+
+  @Autowired
+  private EmbeddedKafkaBroker broker;
+
+  @Autowired
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void startsSucceed() {
+    when(paymentWorkflowService.startIdempotent(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  @Test
+  void acknowledgesTheBatchOnceTheWorkflowsAreStarted() throws Exception {
+    send("ack-1");
+    send("ack-2");
+    send(null);
+    long end = send("ack-3");
+
+    verify(paymentWorkflowService, timeout(TIMEOUT_MILLIS)).startIdempotent(payment("ack-1"), isNull());
+    verify(paymentWorkflowService, timeout(TIMEOUT_MILLIS)).startIdempotent(payment("ack-3"), isNull());
+    awaitTrue(() -> committedOffset() == end + 1, "offsets committed up to the last record");
+    verify(paymentWorkflowService, never()).startIdempotent(argThat(payment -> payment.getId() == null), any());
+    assertTrue(registry.get("kafka.workflow.starts").tag("result", "skipped").counter().count() >= 1);
+  }
+
+  @Test
+  void redeliversTheBatchFromTheFailedRecord() throws Exception {
+    when(paymentWorkflowService.startIdempotent(payment("nack-2"), any()))
+            .thenThrow(new IllegalStateException("sidecar unavailable"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+    send("nack-1");
+    send("nack-2");
+    long end = send("nack-3");
+
+    verify(paymentWorkflowService, timeout(TIMEOUT_MILLIS).times(2)).startIdempotent(payment("nack-2"), any());
+    awaitTrue(() -> committedOffset() == end + 1, "offsets committed once the redelivered record started");
+    verify(paymentWorkflowService, timeout(TIMEOUT_MILLIS).times(1)).startIdempotent(payment("nack-1"), any());
+    assertTrue(registry.get("kafka.workflow.starts").tag("result", "failure").counter().count() >= 1);
+  }
+
+  @Test
+  void reportsTheLagOfEveryPartition() throws Exception {
+    long end = send("lag-1");
+
+    awaitTrue(() -> committedOffset() == end + 1, "record consumed");
+    Gauge lag = registry.find("kafka.workflow.lag").tags("topic", TOPIC, "partition", "0").gauge();
+    assertNotNull(lag);
+    assertEquals(0, lag.value());
+  }
+
+  private long send(String paymentId) throws Exception {
+    PaymentRequest paymentRequest = new PaymentRequest(paymentId, "customer", 10);
+    return kafkaTemplate.send(TOPIC, paymentId, paymentRequest).get().getRecordMetadata().offset();
+  }
+
+  private static PaymentRequest payment(String paymentId) {
+    return argThat(payment -> payment != null && paymentId.equals(payment.getId()));
+  }
+
+  private long committedOffset() {
+    try (AdminClient admin = AdminClient.create(
+            Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()))) {
+      OffsetAndMetadata offset = admin.listConsumerGroupOffsets("workflows").partitionsToOffsetAndMetadata().get()
+              .get(new TopicPartition(TOPIC, 0));
+      return offset != null ? offset.offset() : -1;
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
+  private static void awaitTrue(BooleanSupplier condition, String message) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail(message);
+      }
+      Thread.sleep(100);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.ScenarioWorkflow;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.NewWorkflowOptions;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentWorkflowServiceTests {
+
+  private final DaprWorkflowClient daprWorkflowClient = mock(DaprWorkflowClient.class);
+
+  private final PaymentWorkflowsStore paymentWorkflowsStore = mock(PaymentWorkflowsStore.class);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  private PaymentWorkflowService service(AdmissionController admissionController) {
+    return new PaymentWorkflowService(daprWorkflowClient, mock(WorkflowScenarioService.class), paymentWorkflowsStore,
+            admissionController, Timer.builder("start").register(registry), Timer.builder("raise").register(registry),
+            true, registry);
+  }
+
+  private AdmissionController admission(boolean enabled, int limit) {
+    return new AdmissionController(enabled, AdmissionController.Mode.FIXED, limit, 1, limit, Duration.ZERO,
+            Duration.ofHours(1), Duration.ZERO, Duration.ofMillis(100), 0.5, 10, mock(WorkflowStatusService.class),
+            registry);
+  }
+
+  private double existingDuplicates() {
+    return registry.get("start.workflow.duplicates").tag("reason", "existing").counter().count();
+  }
+
+  @Test
+  void schedulingFailureOfAMissingInstanceIsRethrown() {
+    when(daprWorkflowClient.scheduleNewWorkflow(eq(ScenarioWorkflow.class), any(NewWorkflowOptions.class)))
+            .thenThrow(Status.UNAVAILABLE.withDescription("sidecar down").asRuntimeException());
+    WorkflowInstanceStatus notFound = mock(WorkflowInstanceStatus.class);
+    when(notFound.isInstanceFound()).thenReturn(false);
+    when(daprWorkflowClient.getInstanceState("payment-p1", false)).thenReturn(notFound);
+    PaymentWorkflowService service = service(admission(false, 1));
+
+    assertThrows(RuntimeException.class, () -> service.start(new PaymentRequest("p1", "customer", 10), null));
+
+    assertEquals(0, existingDuplicates());
+    verify(paymentWorkflowsStore, never()).savePaymentWorkflow(any(), anyString());
+  }
+
+  @Test
+  void failedLookupKeepsTheSchedulingFailure() {
+    when(daprWorkflowClient.scheduleNewWorkflow(eq(ScenarioWorkflow.class), any(NewWorkflowOptions.class)))
+            .thenThrow(Status.DEADLINE_EXCEEDED.asRuntimeException());
+    when(daprWorkflowClient.getInstanceState("payment-p1", false))
+            .thenThrow(Status.UNAVAILABLE.asRuntimeException());
+    PaymentWorkflowService service = service(admission(false, 1));
+
+    RuntimeException e = assertThrows(RuntimeException.class,
+            () -> service.start(new PaymentRequest("p1", "customer", 10), null));
+
+    assertTrue(e.getMessage().contains("DEADLINE_EXCEEDED"), e.getMessage());
+    assertEquals(1, e.getSuppressed().length);
+  }
+
+  @Test
+  void alreadyExistingInstanceIsKept() {
+    when(daprWorkflowClient.scheduleNewWorkflow(eq(ScenarioWorkflow.class), any(NewWorkflowOptions.class)))
+            .thenThrow(Status.ALREADY_EXISTS.asRuntimeException());
+    PaymentWorkflowService service = service(admission(false, 1));
+
+    PaymentRequest started = service.start(new PaymentRequest("p1", "customer", 10), null);
+
+    assertEquals("payment-p1", started.getWorkflowInstanceId());
+    assertEquals(1, existingDuplicates());
+    verify(daprWorkflowClient, never()).getInstanceState(anyString(), anyBoolean());
+  }
+
+  @Test
+  void foundInstanceIsKeptWhenTheConflictHasAnotherCode() {
+    when(daprWorkflowClient.scheduleNewWorkflow(eq(ScenarioWorkflow.class), any(NewWorkflowOptions.class)))
+            .thenThrow(Status.UNKNOWN.withDescription("an active workflow already exists").asRuntimeException());
+    WorkflowInstanceStatus found = mock(WorkflowInstanceStatus.class);
+    when(found.isInstanceFound()).thenReturn(true);
+    when(daprWorkflowClient.getInstanceState("payment-p1", false)).thenReturn(found);
+    PaymentWorkflowService service = service(admission(false, 1));
+
+    assertEquals("payment-p1", service.start(new PaymentRequest("p1", "customer", 10), null).getWorkflowInstanceId());
+    assertEquals(1, existingDuplicates());
+  }
+
+  @Test
+  void rejectedAdmissionIsNotTakenForADuplicate() {
+    AdmissionController admissionController = admission(true, 1);
+    admissionController.tryAcquire();
+    PaymentWorkflowService service = service(admissionController);
+
+    assertThrows(AdmissionRejectedException.class,
+            () -> service.start(new PaymentRequest("p1", "customer", 10), null, false));
+
+    assertEquals(0, existingDuplicates());
+    verify(daprWorkflowClient, never()).getInstanceState(anyString(), anyBoolean());
+    verify(paymentWorkflowsStore, never()).savePaymentWorkflow(any(), anyString());
+  }
+
+  @Test
+  void loadStartsTakeAnAdmissionSlot() {
+    when(daprWorkflowClient.scheduleNewWorkflow(eq(ScenarioWorkflow.class), any(PaymentRequest.class)))
+            .thenReturn("instance-1");
+    AdmissionController admissionController = admission(true, 1);
+    PaymentWorkflowService service = service(admissionController);
+
+    assertEquals("instance-1", service.scheduleAdmitted(ScenarioWorkflow.class, new PaymentRequest(null, "customer", 10)));
+    assertThrows(AdmissionRejectedException.class,
+            () -> service.scheduleAdmitted(ScenarioWorkflow.class, new PaymentRequest(null, "customer", 10)));
+
+    admissionController.finished("instance-1");
+    assertEquals("instance-1", service.scheduleAdmitted(ScenarioWorkflow.class, new PaymentRequest(null, "customer", 10)));
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.client.DaprClient;
+import io.dapr.client.domain.State;
+import io.dapr.springboot.extreme.workflows.model.PaymentRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentWorkflowsStoreTests {
+
+  private final DaprClient daprClient = mock(DaprClient.class);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  private PaymentWorkflowsStore store(int batchSize) {
+    return new PaymentWorkflowsStore(daprClient, "kvstore", 1000, Duration.ofHours(1), batchSize, registry);
+  }
+
+  private double pending() {
+    return registry.get("payment.store.pending").gauge().value();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void requeuesFailedBatchesForTheNextFlush() {
+    AtomicInteger calls = new AtomicInteger();
+    List<List<State<?>>> written = new ArrayList<>();
+    when(daprClient.saveBulkState(eq("kvstore"), anyList())).thenAnswer(invocation -> {
+      if (calls.getAndIncrement() == 0) {
+        return Mono.error(new IllegalStateException("store down"));
+      }
+      written.add(new ArrayList<>((List<State<?>>) invocation.getArgument(1)));
+      return Mono.empty();
+    });
+    PaymentWorkflowsStore store = store(2);
+    for (int i = 0; i < 3; i++) {
+      store.savePaymentWorkflow(new PaymentRequest("p" + i, "customer", 10), "payment-p" + i);
+    }
+
+    store.flush();
+    assertEquals(2, pending(), "the failed batch of 2 is queued again");
+    assertEquals(1, written.size());
+
+    store.flush();
+    assertEquals(0, pending());
+    assertEquals(3, written.stream().mapToInt(List::size).sum());
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  void flushWithNothingPendingDoesNotCallTheStore() {
+    store(10).flush();
+
+    verify(daprClient, never()).saveBulkState(any(), anyList());
+  }
+
+  @Test
+  void paymentsWithoutAnIdAreNotMapped() {
+    PaymentWorkflowsStore store = store(10);
+
+    store.savePaymentWorkflow(new PaymentRequest(null, "customer", 10), "instance-1");
+    store.flush();
+
+    assertEquals(0, pending());
+    assertEquals(0, registry.get("payment.store.cached").gauge().value());
+    verify(daprClient, never()).saveBulkState(any(), anyList());
+  }
+
+  @Test
+  void startsOnlyLookAtTheCache() {
+    PaymentWorkflowsStore store = store(10);
+    store.savePaymentWorkflow(new PaymentRequest("p1", "customer", 10), "payment-p1");
+
+    assertEquals("payment-p1", store.getCachedPaymentWorkflowInstanceId("p1"));
+    assertNull(store.getCachedPaymentWorkflowInstanceId("p2"));
+    verify(daprClient, never()).getState(any(), any(), eq(String.class));
+  }
+
+  @Test
+  void lookupsReadTheStoreOnACacheMissAndCacheTheResult() {
+    when(daprClient.getState("kvstore", "payment-p1", String.class))
+            .thenReturn(Mono.just(new State<>("payment-p1", "payment-p1", null)));
+    when(daprClient.getState("kvstore", "payment-p2", String.class))
+            .thenReturn(Mono.empty());
+    PaymentWorkflowsStore store = store(10);
+
+    assertEquals("payment-p1", store.findPaymentWorkflowInstanceId("p1").join());
+    assertEquals("payment-p1", store.findPaymentWorkflowInstanceId("p1").join());
+    assertNull(store.findPaymentWorkflowInstanceId("p2").join());
+    verify(daprClient, times(1)).getState("kvstore", "payment-p1", String.class);
+  }
+}
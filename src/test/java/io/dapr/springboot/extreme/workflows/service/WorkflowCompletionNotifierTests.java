@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkflowCompletionNotifierTests {
+
+  private final WorkflowStatusService workflowStatusService = mock(WorkflowStatusService.class);
+
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+  private final ScheduledExecutorService completionExecutor = Executors.newSingleThreadScheduledExecutor();
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  private final WorkflowCompletionNotifier notifier = new WorkflowCompletionNotifier(workflowStatusService,
+          completionExecutor, eventPublisher, Duration.ofMillis(10), Duration.ofMillis(500), registry);
+
+  @AfterEach
+  void tearDown() {
+    completionExecutor.shutdownNow();
+  }
+
+  private double unconfirmed() {
+    return registry.get("workflow.completion.unconfirmed").counter().count();
+  }
+
+  @Test
+  void publishesOnceTheRuntimeReportsTheInstanceCompleted() {
+    when(workflowStatusService.getStatusAsync("instance-1", false))
+            .thenReturn(status("RUNNING"), status("RUNNING"), status("COMPLETED"));
+
+    notifier.onWorkflowCompleting(new WorkflowCompletingEvent("instance-1", null));
+
+    ArgumentCaptor<WorkflowCompletedEvent> event = ArgumentCaptor.forClass(WorkflowCompletedEvent.class);
+    verify(eventPublisher, timeout(2000)).publishEvent(event.capture());
+    assertEquals("instance-1", event.getValue().getInstanceId());
+    verify(workflowStatusService, times(3)).getStatusAsync("instance-1", false);
+    assertEquals(0, unconfirmed());
+  }
+
+  @Test
+  void failedInstancesAreNotPublished() {
+    when(workflowStatusService.getStatusAsync("instance-1", false)).thenReturn(status("FAILED"));
+
+    notifier.onWorkflowCompleting(new WorkflowCompletingEvent("instance-1", null));
+
+    await().atMost(Duration.ofSeconds(2)).until(() -> unconfirmed() == 1);
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void givesUpAfterTheConfirmTimeout() {
+    when(workflowStatusService.getStatusAsync("instance-1", false))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("sidecar down")));
+
+    notifier.onWorkflowCompleting(new WorkflowCompletingEvent("instance-1", null));
+
+    await().atMost(Duration.ofSeconds(2)).until(() -> unconfirmed() == 1);
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  private static CompletableFuture<WorkflowStatus> status(String runtimeStatus) {
+    WorkflowStatus status = new WorkflowStatus();
+    status.setRuntimeStatus(runtimeStatus);
+    return CompletableFuture.completedFuture(status);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class WorkflowRetentionServiceTests {
+
+  private final WorkflowClientExecutor workflowClientExecutor = mock(WorkflowClientExecutor.class);
+
+  private final WorkflowRetentionService service = new WorkflowRetentionService(mock(DaprWorkflowClient.class),
+          workflowClientExecutor, mock(ExecutorService.class), new SimpleMeterRegistry(), false, Duration.ofHours(1),
+          500, 8, 200, Duration.ofMinutes(1), 5, 16);
+
+  @Test
+  void rejectsConcurrencyOutsideTheClientPool() throws InterruptedException {
+    List<String> instances = List.of("instance-1");
+
+    assertThrows(IllegalArgumentException.class, () -> service.purge(instances, 0, null));
+    assertThrows(IllegalArgumentException.class, () -> service.purge(instances, 17, null));
+    verify(workflowClientExecutor, never()).invokeAll(anyList(), anyInt(), anyDouble(), any());
+  }
+
+  @Test
+  void rejectsNegativeOrInvalidRates() throws InterruptedException {
+    List<String> instances = List.of("instance-1");
+
+    assertThrows(IllegalArgumentException.class, () -> service.purge(instances, 4, -1d));
+    assertThrows(IllegalArgumentException.class, () -> service.purge(instances, 4, Double.NaN));
+    assertThrows(IllegalArgumentException.class, () -> service.purge(instances, 4, Double.POSITIVE_INFINITY));
+    verify(workflowClientExecutor, never()).invokeAll(anyList(), anyInt(), anyDouble(), any());
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 The Dapr Authors
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+
+package io.dapr.springboot.extreme.workflows.service;
+
+import io.dapr.springboot.extreme.workflows.model.WorkflowStatus;
+import io.dapr.workflows.client.DaprWorkflowClient;
+import io.dapr.workflows.client.WorkflowInstanceStatus;
+import io.dapr.workflows.client.WorkflowRuntimeStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkflowStatusServiceTests {
+
+  private final DaprWorkflowClient daprWorkflowClient = mock(DaprWorkflowClient.class);
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  private final WorkflowStatusService service = new WorkflowStatusService(daprWorkflowClient,
+          new WorkflowClientExecutor(executor), Duration.ofHours(1), registry);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void concurrentLookupsShareOneCall() throws Exception {
+    CountDownLatch called = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    WorkflowInstanceStatus running = instance("instance", WorkflowRuntimeStatus.RUNNING);
+    when(daprWorkflowClient.getInstanceState("instance", false)).thenAnswer(invocation -> {
+      called.countDown();
+      release.await();
+      return running;
+    });
+
+    List<CompletableFuture<WorkflowStatus>> lookups = new ArrayList<>();
+    lookups.add(service.getStatusAsync("instance", false));
+    assertTrue(called.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 9; i++) {
+      lookups.add(service.getStatusAsync("instance", false));
+    }
+    assertTrue(lookups.stream().noneMatch(CompletableFuture::isDone));
+    release.countDown();
+
+    for (CompletableFuture<WorkflowStatus> lookup : lookups) {
+      assertEquals("RUNNING", lookup.get(5, TimeUnit.SECONDS).getRuntimeStatus());
+    }
+    assertEquals("RUNNING", service.getStatus("instance", false).getRuntimeStatus());
+    verify(daprWorkflowClient, times(1)).getInstanceState("instance", false);
+    assertEquals(1, lookups("fetched"));
+    assertEquals(9, lookups("coalesced"));
+    assertEquals(1, lookups("cached"));
+  }
+
+  @Test
+  void statusesWithIoServeLookupsWithout() {
+    WorkflowInstanceStatus completed = instance("instance", WorkflowRuntimeStatus.COMPLETED);
+    when(daprWorkflowClient.getInstanceState("instance", true)).thenReturn(completed);
+
+    assertEquals("COMPLETED", service.getStatus("instance", true).getRuntimeStatus());
+    assertEquals("COMPLETED", service.getStatus("instance", false).getRuntimeStatus());
+    verify(daprWorkflowClient, times(0)).getInstanceState("instance", false);
+  }
+
+  @Test
+  void failedCallsAreNotCached() {
+    when(daprWorkflowClient.getInstanceState("instance", false))
+            .thenThrow(new IllegalStateException("sidecar unavailable"))
+            .thenReturn(instance("instance", WorkflowRuntimeStatus.RUNNING));
+
+    assertThrows(RuntimeException.class, () -> service.getStatus("instance", false));
+    assertEquals("RUNNING", service.getStatus("instance", false).getRuntimeStatus());
+    verify(daprWorkflowClient, times(2)).getInstanceState("instance", false);
+  }
+
+  private double lookups(String result) {
+    return registry.get("workflow.status.lookups").tag("result", result).counter().count();
+  }
+
+  private static WorkflowInstanceStatus instance(String instanceId, WorkflowRuntimeStatus runtimeStatus) {
+    WorkflowInstanceStatus instance = mock(WorkflowInstanceStatus.class);
+    when(instance.isInstanceFound()).thenReturn(true);
+    when(instance.getInstanceId()).thenReturn(instanceId);
+    when(instance.getName()).thenReturn("ScenarioWorkflow");
+    when(instance.getRuntimeStatus()).thenReturn(runtimeStatus);
+    when(instance.getCreatedAt()).thenReturn(Instant.EPOCH);
+    when(instance.getLastUpdatedAt()).thenReturn(Instant.EPOCH);
+    return instance;
+  }
+}